@@ -0,0 +1,55 @@
+package com.stockwatch.stockwatchpro.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stockwatch.stockwatchpro.dtos.StockDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StockSerializationBenchmark {
+    @Param({"100", "1000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<StockDto> stocks;
+
+    @Setup
+    public void setUp() {
+        try (ConfigurableApplicationContext context = BenchmarkContext.start()) {
+            objectMapper = context.getBean(ObjectMapper.class);
+        }
+        stocks = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            stocks.add(StockDto.builder()
+                    .id(i)
+                    .symbol("SYM" + i)
+                    .companyName("Benchmark Company " + i + " Holdings")
+                    .purchase(BigDecimal.valueOf(10_000 + i, 2))
+                    .lastDiv(BigDecimal.valueOf(i % 500, 2))
+                    .industry(i % 3 == 0 ? null : "Industry " + (i % 20))
+                    .marketCap(1_000_000L * i)
+                    .version((long) i % 7)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeStocks() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(stocks);
+    }
+}
@@ -0,0 +1,97 @@
+package com.stockwatch.stockwatchpro.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stockwatch.stockwatchpro.alerts.TriggeredAlertWriteBehind;
+import com.stockwatch.stockwatchpro.cache.CacheInvalidationPublisher;
+import com.stockwatch.stockwatchpro.cache.ResourceVersions;
+import com.stockwatch.stockwatchpro.dtos.CommentDto;
+import com.stockwatch.stockwatchpro.dtos.PriceAlertDto;
+import com.stockwatch.stockwatchpro.dtos.StockDto;
+import com.stockwatch.stockwatchpro.models.Comment;
+import com.stockwatch.stockwatchpro.models.PriceAlert;
+import com.stockwatch.stockwatchpro.models.Stock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MapToDtoBenchmark {
+    private StockService stockService;
+    private PriceAlertService priceAlertService;
+    private CommentService commentService;
+    private TriggeredAlertWriteBehind triggeredAlertWriteBehind;
+    private Stock stock;
+    private PriceAlert priceAlert;
+    private Comment comment;
+
+    @Setup
+    public void setUp() {
+        ResourceVersions resourceVersions = new ResourceVersions(1000, 300);
+        CacheInvalidationPublisher invalidationPublisher = new CacheInvalidationPublisher(false, 1000);
+        triggeredAlertWriteBehind = new TriggeredAlertWriteBehind(null, resourceVersions, invalidationPublisher, 1000, 100, 1000);
+        stockService = new StockService(null, null, null, new ObjectMapper(), null, 1000,
+                null, null, List.of(), 100, resourceVersions, invalidationPublisher);
+        priceAlertService = new PriceAlertService(null, null, stockService, null, triggeredAlertWriteBehind, resourceVersions,
+                invalidationPublisher);
+        commentService = new CommentService(null, stockService, null, 100, invalidationPublisher);
+
+        stock = Stock.builder()
+                .id(42)
+                .symbol("ACME")
+                .companyName("Acme Corporation")
+                .purchase(new BigDecimal("123.45"))
+                .lastDiv(new BigDecimal("1.20"))
+                .industry("Industrials")
+                .marketCap(12_000_000_000L)
+                .version(3L)
+                .build();
+        priceAlert = PriceAlert.builder()
+                .id(7)
+                .appUserId("benchmark-user")
+                .stockId(42)
+                .targetPrice(new BigDecimal("150.00"))
+                .alertType(PriceAlert.AlertType.PRICE_ABOVE)
+                .isActive(true)
+                .createdAt(LocalDateTime.now())
+                .build();
+        comment = Comment.builder()
+                .id(9)
+                .title("Earnings beat")
+                .content("Revenue grew faster than guidance for the third straight quarter.")
+                .createdTime(LocalDateTime.now())
+                .stockId(42)
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        triggeredAlertWriteBehind.shutdown();
+    }
+
+    @Benchmark
+    public StockDto stockToDto() {
+        return StockDto.from(stock);
+    }
+
+    @Benchmark
+    public PriceAlertDto priceAlertToDto() {
+        return priceAlertService.mapToDto(priceAlert);
+    }
+
+    @Benchmark
+    public CommentDto commentToDto() {
+        return commentService.mapToDto(comment);
+    }
+}
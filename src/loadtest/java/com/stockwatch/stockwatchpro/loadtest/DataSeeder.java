@@ -0,0 +1,109 @@
+package com.stockwatch.stockwatchpro.loadtest;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class DataSeeder {
+    public static final String PASSWORD = "loadtest-password";
+
+    private static final List<String> NAME_PREFIXES = List.of(
+            "Acme", "Global", "Pacific", "Northern", "United", "Summit", "Atlas", "Pioneer", "Vertex", "Harbor");
+    private static final List<String> NAME_SUFFIXES = List.of(
+            "Energy", "Systems", "Holdings", "Pharma", "Logistics", "Foods", "Semiconductor", "Capital", "Retail", "Motors");
+    private static final List<String> INDUSTRIES = List.of(
+            "Technology", "Healthcare", "Financials", "Energy", "Industrials", "Consumer", "Utilities", "Materials");
+
+    private static final String INSERT_USERS_SQL =
+            "INSERT INTO users (id, username, email, password) " +
+            "SELECT gen_random_uuid(), 'loaduser' || g, 'loaduser' || g || '@stockwatch.local', ? " +
+            "FROM generate_series(1, ?) g";
+    private static final String INSERT_ROLES_SQL =
+            "INSERT INTO user_roles (user_id, role) SELECT id, 'ROLE_USER' FROM users";
+    private static final String INSERT_STOCKS_SQL =
+            "INSERT INTO stocks (symbol, company_name, purchase, last_div, industry, market_cap) " +
+            "SELECT 'S' || g, " +
+            "(?::text[])[1 + g % 10] || ' ' || (?::text[])[1 + (g / 10) % 10] || ' ' || g, " +
+            "round((5 + random() * 495)::numeric, 2), round((random() * 5)::numeric, 2), " +
+            "(?::text[])[1 + g % 8], (random() * 1e12)::bigint " +
+            "FROM generate_series(1, ?) g";
+    private static final String INSERT_PORTFOLIOS_SQL =
+            "WITH numbered AS (SELECT id, row_number() OVER (ORDER BY username) AS n FROM users) " +
+            "INSERT INTO portfolios (app_user_id, stock_id) " +
+            "SELECT u.id, ? + ((u.n * 7919 + k * 104729) % ?) FROM numbered u, generate_series(1, ?) k " +
+            "ON CONFLICT DO NOTHING";
+    private static final String INSERT_ALERTS_SQL =
+            "INSERT INTO price_alerts (app_user_id, stock_id, target_price, alert_type, is_active, created_at) " +
+            "SELECT u.id, ? + floor(random() * ?)::int, round((5 + random() * 495)::numeric, 2), " +
+            "CASE WHEN k % 2 = 0 THEN 'PRICE_ABOVE' ELSE 'PRICE_BELOW' END, true, now() " +
+            "FROM users u, generate_series(1, ?) k";
+    private static final String INSERT_COMMENTS_SQL =
+            "INSERT INTO comments (title, content, created_time, stock_id) " +
+            "SELECT 'Comment ' || k || ' on ' || s.symbol, repeat('Seeded load-test comment text. ', 1 + k % 8), " +
+            "now() - k * interval '1 minute', s.id FROM stocks s, generate_series(1, ?) k";
+    private static final String REFRESH_COMMENT_COUNTS_SQL =
+            "INSERT INTO stock_comment_counts (stock_id, comment_count) " +
+            "SELECT stock_id, count(*) FROM comments GROUP BY stock_id " +
+            "ON CONFLICT (stock_id) DO UPDATE SET comment_count = EXCLUDED.comment_count";
+
+    private DataSeeder() {
+    }
+
+    public static SeededData seed(DataSource dataSource, LoadTestConfig config, int bcryptStrength) throws SQLException {
+        String hash = new BCryptPasswordEncoder(bcryptStrength).encode(PASSWORD);
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement("SELECT setseed(?)")) {
+                statement.setDouble(1, (config.seed() % 1000) / 1000.0);
+                statement.execute();
+            }
+            update(connection, INSERT_USERS_SQL, hash, config.users());
+            update(connection, INSERT_ROLES_SQL);
+            update(connection, INSERT_STOCKS_SQL, connection.createArrayOf("text", NAME_PREFIXES.toArray()),
+                    connection.createArrayOf("text", NAME_SUFFIXES.toArray()),
+                    connection.createArrayOf("text", INDUSTRIES.toArray()), config.stocks());
+            int[] stockIds = range(connection, "SELECT min(id), max(id) FROM stocks");
+            update(connection, INSERT_PORTFOLIOS_SQL, stockIds[0], config.stocks(), config.portfoliosPerUser());
+            update(connection, INSERT_ALERTS_SQL, stockIds[0], config.stocks(), config.alertsPerUser());
+            update(connection, INSERT_COMMENTS_SQL, config.commentsPerStock());
+            update(connection, REFRESH_COMMENT_COUNTS_SQL);
+            int[] alertIds = range(connection, "SELECT min(id), max(id) FROM price_alerts");
+            connection.commit();
+            try (Statement statement = connection.createStatement()) {
+                connection.setAutoCommit(true);
+                statement.execute("ANALYZE");
+            }
+
+            List<SeededData.Account> accounts = new ArrayList<>(config.users());
+            for (int i = 1; i <= config.users(); i++) {
+                accounts.add(new SeededData.Account("loaduser" + i, "loaduser" + i + "@stockwatch.local"));
+            }
+            List<String> terms = new ArrayList<>(NAME_PREFIXES);
+            terms.addAll(NAME_SUFFIXES);
+            return new SeededData(accounts, PASSWORD, stockIds[0], stockIds[1], alertIds[0], alertIds[1], terms);
+        }
+    }
+
+    private static void update(Connection connection, String sql, Object... parameters) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+            statement.executeUpdate();
+        }
+    }
+
+    private static int[] range(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            return new int[]{rs.getInt(1), rs.getInt(2)};
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.stockwatch.stockwatchpro.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+public final class LatencyRecorder {
+    private final Map<String, Series> series = new ConcurrentHashMap<>();
+
+    public void record(String operation, long latencyNanos, int status) {
+        series(operation).add(latencyNanos, status);
+    }
+
+    public void failed(String operation, long latencyNanos) {
+        series(operation).add(latencyNanos, 0);
+    }
+
+    public void dropped(String operation) {
+        series(operation).drop();
+    }
+
+    public Map<String, Summary> summarize(double windowSeconds) {
+        Map<String, Summary> summaries = new TreeMap<>();
+        series.forEach((operation, values) -> summaries.put(operation, values.summarize(windowSeconds)));
+        return summaries;
+    }
+
+    private Series series(String operation) {
+        return series.computeIfAbsent(operation, key -> new Series());
+    }
+
+    public record Summary(long requests, long errors, long dropped, double throughput,
+                          double p50Ms, double p99Ms, double p999Ms, double maxMs, Map<Integer, Long> statuses) {
+    }
+
+    private static final class Series {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<Integer, Long> statuses = new TreeMap<>();
+        private long[] latencies = new long[1024];
+        private int size;
+        private long errors;
+        private long dropped;
+
+        void add(long latencyNanos, int status) {
+            lock.lock();
+            try {
+                if (size == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, size * 2);
+                }
+                latencies[size++] = latencyNanos;
+                statuses.merge(status, 1L, Long::sum);
+                if (status == 0 || status >= 400) {
+                    errors++;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void drop() {
+            lock.lock();
+            try {
+                dropped++;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        Summary summarize(double windowSeconds) {
+            lock.lock();
+            try {
+                long[] sorted = Arrays.copyOf(latencies, size);
+                Arrays.sort(sorted);
+                return new Summary(size, errors, dropped, size / windowSeconds,
+                        percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999),
+                        sorted.length == 0 ? 0.0 : sorted[sorted.length - 1] / 1e6, new TreeMap<>(statuses));
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0.0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1e6;
+        }
+    }
+}
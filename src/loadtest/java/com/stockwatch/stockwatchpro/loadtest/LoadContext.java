@@ -0,0 +1,53 @@
+package com.stockwatch.stockwatchpro.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+public final class LoadContext {
+    private final URI baseUri;
+    private final SeededData data;
+    private final List<String> tokens;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ConcurrentLinkedDeque<Integer> deletableAlertIds = new ConcurrentLinkedDeque<>();
+
+    public LoadContext(URI baseUri, SeededData data, List<String> tokens) {
+        this.baseUri = baseUri;
+        this.data = data;
+        this.tokens = tokens;
+        for (int id = data.firstAlertId(); id <= data.lastAlertId(); id++) {
+            deletableAlertIds.add(id);
+        }
+    }
+
+    public URI uri(String path) {
+        return baseUri.resolve(baseUri.getPath() + path);
+    }
+
+    public SeededData data() {
+        return data;
+    }
+
+    public ObjectMapper objectMapper() {
+        return objectMapper;
+    }
+
+    public int randomAccount(SplittableRandom random) {
+        return random.nextInt(tokens.size());
+    }
+
+    public String token(int account) {
+        return tokens.get(account);
+    }
+
+    public int randomStockId(SplittableRandom random) {
+        return random.nextInt(data.firstStockId(), data.lastStockId() + 1);
+    }
+
+    public ConcurrentLinkedDeque<Integer> deletableAlertIds() {
+        return deletableAlertIds;
+    }
+}
@@ -0,0 +1,46 @@
+package com.stockwatch.stockwatchpro.loadtest;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+public record LoadTestConfig(String workload, double rate, int durationSeconds, int warmupSeconds, int maxInFlight,
+                             int users, int stocks, int portfoliosPerUser, int alertsPerUser, int commentsPerStock,
+                             long seed, Path output, double ticksPerSecond, double webhookFailureRate) {
+
+    public static LoadTestConfig parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        LoadTestConfig config = new LoadTestConfig(
+                options.getOrDefault("workload", "mixed"),
+                Double.parseDouble(options.getOrDefault("rate", "200")),
+                Integer.parseInt(options.getOrDefault("duration", "60")),
+                Integer.parseInt(options.getOrDefault("warmup", "10")),
+                Integer.parseInt(options.getOrDefault("max-in-flight", "2000")),
+                Integer.parseInt(options.getOrDefault("users", "200")),
+                Integer.parseInt(options.getOrDefault("stocks", "5000")),
+                Integer.parseInt(options.getOrDefault("portfolios-per-user", "20")),
+                Integer.parseInt(options.getOrDefault("alerts-per-user", "10")),
+                Integer.parseInt(options.getOrDefault("comments-per-stock", "20")),
+                Long.parseLong(options.getOrDefault("seed", "42")),
+                Path.of(options.getOrDefault("output", "target/loadtest-result.json")),
+                Double.parseDouble(options.getOrDefault("ticks-per-second", "0")),
+                Double.parseDouble(options.getOrDefault("webhook-failure-rate", "0")));
+        if (config.rate() <= 0 || config.durationSeconds() <= 0 || config.warmupSeconds() < 0 || config.maxInFlight() < 1) {
+            throw new IllegalArgumentException("Rate and duration must be positive, warmup non-negative and max-in-flight at least 1");
+        }
+        if (config.users() < 1 || config.stocks() < 1 || config.portfoliosPerUser() > config.stocks()) {
+            throw new IllegalArgumentException("Need at least one user and stock, and no more portfolio entries than stocks");
+        }
+        if (config.ticksPerSecond() < 0 || config.webhookFailureRate() < 0 || config.webhookFailureRate() >= 1) {
+            throw new IllegalArgumentException("Tick rate must be non-negative and webhook failure rate in [0, 1)");
+        }
+        return config;
+    }
+}
@@ -0,0 +1,179 @@
+package com.stockwatch.stockwatchpro.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.stockwatch.stockwatchpro.StockWatchProApplication;
+import com.stockwatch.stockwatchpro.marketdata.PriceFeed;
+import com.stockwatch.stockwatchpro.repositories.AlertNotificationOutboxRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public final class LoadTestMain {
+    private static final int NOTIFICATION_DRAIN_SECONDS = 30;
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        List<Operation> operations = Workloads.named(config.workload());
+        int bcryptStrength = Integer.parseInt(PropertiesLoaderUtils.loadProperties(new ClassPathResource("application.properties"))
+                .getProperty("security.bcrypt.strength", "10"));
+
+        try (LocalDatabase database = LocalDatabase.start()) {
+            System.out.printf("Seeding %d users, %d stocks, %d portfolio entries/user, %d alerts/user, %d comments/stock%n",
+                    config.users(), config.stocks(), config.portfoliosPerUser(), config.alertsPerUser(), config.commentsPerStock());
+            SeededData data = DataSeeder.seed(database.getDataSource(), config, bcryptStrength);
+            System.setProperty("spring.devtools.restart.enabled", "false");
+
+            try (NotificationStub notificationStub = NotificationStub.start(config.webhookFailureRate());
+                 ConfigurableApplicationContext application = new SpringApplicationBuilder(StockWatchProApplication.class)
+                    .run("--spring.datasource.url=" + database.getJdbcUrl(),
+                            "--spring.datasource.username=postgres",
+                            "--spring.datasource.password=postgres",
+                            "--server.port=0",
+                            "--security.login.max-failures-per-ip=0",
+                            "--notifications.sink=webhook",
+                            "--notifications.webhook.url=" + notificationStub.uri(),
+                            "--logging.level.root=WARN",
+                            "--logging.level.com.stockwatch.stockwatchpro=WARN",
+                            "--logging.level.org.springframework.security=WARN")) {
+                Environment environment = application.getEnvironment();
+                URI baseUri = URI.create("http://localhost:" + environment.getProperty("local.server.port")
+                        + environment.getProperty("server.servlet.context-path", ""));
+                HttpClient client = HttpClient.newBuilder()
+                        .executor(Executors.newVirtualThreadPerTaskExecutor())
+                        .connectTimeout(Duration.ofSeconds(5))
+                        .build();
+
+                LoadContext context = new LoadContext(baseUri, data, login(client, baseUri, data));
+                LatencyRecorder recorder = new LatencyRecorder();
+                System.out.printf("Running workload '%s' open-loop at %.1f req/s for %ds after %ds warm-up against %s%n",
+                        config.workload(), config.rate(), config.durationSeconds(), config.warmupSeconds(), baseUri);
+                Instant startedAt = Instant.now();
+                long ticks = 0;
+                if (config.ticksPerSecond() > 0) {
+                    try (PriceTicker ticker = PriceTicker.start(application.getBean(PriceFeed.class), data,
+                            config.ticksPerSecond(), config.seed())) {
+                        new OpenLoopDriver(client, context, recorder).run(operations, config);
+                        ticks = ticker.published();
+                    }
+                } else {
+                    new OpenLoopDriver(client, context, recorder).run(operations, config);
+                }
+
+                Map<String, LatencyRecorder.Summary> summaries = recorder.summarize(config.durationSeconds());
+                print(summaries);
+                Map<String, Object> notifications = drainNotifications(application.getBean(AlertNotificationOutboxRepository.class),
+                        notificationStub, ticks);
+                write(config, startedAt, summaries, notifications);
+                scrapeMetrics(client, baseUri, config);
+            }
+        }
+    }
+
+    private static List<String> login(HttpClient client, URI baseUri, SeededData data) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<Future<String>> logins = new ArrayList<>(data.accounts().size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (SeededData.Account account : data.accounts()) {
+                logins.add(executor.submit(() -> {
+                    HttpRequest request = HttpRequest.newBuilder(URI.create(baseUri + "/account/login"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(
+                                    Map.of("email", account.email(), "password", data.password()))))
+                            .build();
+                    HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                    while (response.statusCode() == 503) {
+                        Thread.sleep(1000L * Long.parseLong(response.headers().firstValue("Retry-After").orElse("1")));
+                        response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                    }
+                    if (response.statusCode() != 200) {
+                        throw new IllegalStateException("Login failed for " + account.username() + ": HTTP " + response.statusCode());
+                    }
+                    return objectMapper.readTree(response.body()).path("token").asText();
+                }));
+            }
+        }
+        List<String> tokens = new ArrayList<>(logins.size());
+        for (Future<String> login : logins) {
+            tokens.add(login.get());
+        }
+        return tokens;
+    }
+
+    private static void print(Map<String, LatencyRecorder.Summary> summaries) {
+        System.out.printf("%n%-34s %9s %7s %7s %9s %9s %9s %9s %9s  %s%n",
+                "Endpoint", "Requests", "Errors", "Dropped", "Req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "Statuses");
+        summaries.forEach((operation, summary) -> System.out.printf("%-34s %9d %7d %7d %9.1f %9.2f %9.2f %9.2f %9.2f  %s%n",
+                operation, summary.requests(), summary.errors(), summary.dropped(), summary.throughput(),
+                summary.p50Ms(), summary.p99Ms(), summary.p999Ms(), summary.maxMs(), summary.statuses()));
+    }
+
+    private static void scrapeMetrics(HttpClient client, URI baseUri, LoadTestConfig config) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUri + "/actuator/prometheus")).GET().build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            System.out.println("Metrics scrape failed: HTTP " + response.statusCode());
+            return;
+        }
+        Path metricsFile = config.output().resolveSibling("loadtest-metrics.prom");
+        Files.writeString(metricsFile, response.body());
+        System.out.println("Server metrics written to " + metricsFile.toAbsolutePath());
+    }
+
+    private static Map<String, Object> drainNotifications(AlertNotificationOutboxRepository outbox, NotificationStub stub,
+                                                          long ticks) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(NOTIFICATION_DRAIN_SECONDS).toNanos();
+        long pending = outbox.countPending();
+        while (pending > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(200);
+            pending = outbox.countPending();
+        }
+        Map<String, Object> notifications = new LinkedHashMap<>(stub.summary());
+        notifications.put("priceTicks", ticks);
+        notifications.put("pendingAfterDrain", pending);
+        System.out.println("Notifications: " + notifications);
+        return notifications;
+    }
+
+    private static void write(LoadTestConfig config, Instant startedAt, Map<String, LatencyRecorder.Summary> summaries,
+                              Map<String, Object> notifications) throws Exception {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("startedAt", startedAt.toString());
+        result.put("config", Map.of(
+                "workload", config.workload(),
+                "rate", config.rate(),
+                "durationSeconds", config.durationSeconds(),
+                "warmupSeconds", config.warmupSeconds(),
+                "users", config.users(),
+                "stocks", config.stocks(),
+                "seed", config.seed()));
+        result.put("endpoints", summaries);
+        result.put("notifications", notifications);
+        if (config.output().getParent() != null) {
+            Files.createDirectories(config.output().getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(config.output().toFile(), result);
+        System.out.println("Results written to " + config.output().toAbsolutePath());
+    }
+}
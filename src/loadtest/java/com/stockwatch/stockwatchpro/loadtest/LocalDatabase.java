@@ -0,0 +1,49 @@
+package com.stockwatch.stockwatchpro.loadtest;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import liquibase.integration.spring.SpringLiquibase;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+
+public final class LocalDatabase implements AutoCloseable {
+    private static final String CHANGE_LOG = "classpath:db/changelog/db.changelog-master.xml";
+
+    private final EmbeddedPostgres postgres;
+
+    private LocalDatabase(EmbeddedPostgres postgres) {
+        this.postgres = postgres;
+    }
+
+    public static LocalDatabase start() throws Exception {
+        LocalDatabase database = new LocalDatabase(EmbeddedPostgres.builder()
+                .setServerConfig("max_connections", "200")
+                .setServerConfig("fsync", "off")
+                .setServerConfig("synchronous_commit", "off")
+                .start());
+        database.migrate();
+        return database;
+    }
+
+    public DataSource getDataSource() {
+        return postgres.getPostgresDatabase();
+    }
+
+    public String getJdbcUrl() {
+        return postgres.getJdbcUrl("postgres", "postgres");
+    }
+
+    private void migrate() throws Exception {
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(getDataSource());
+        liquibase.setChangeLog(CHANGE_LOG);
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.afterPropertiesSet();
+    }
+
+    @Override
+    public void close() throws IOException {
+        postgres.close();
+    }
+}
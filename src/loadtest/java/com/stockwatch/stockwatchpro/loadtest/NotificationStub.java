@@ -0,0 +1,78 @@
+package com.stockwatch.stockwatchpro.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class NotificationStub implements AutoCloseable {
+    private final HttpServer server;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final double failureRate;
+    private final Set<String> idempotencyKeys = ConcurrentHashMap.newKeySet();
+    private final Set<Long> notificationIds = ConcurrentHashMap.newKeySet();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong injectedFailures = new AtomicLong();
+    private final AtomicLong alerts = new AtomicLong();
+    private final AtomicLong duplicateAlerts = new AtomicLong();
+
+    private NotificationStub(double failureRate) throws IOException {
+        this.failureRate = failureRate;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        this.server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        this.server.createContext("/notify", this::handle);
+        this.server.start();
+    }
+
+    public static NotificationStub start(double failureRate) throws IOException {
+        return new NotificationStub(failureRate);
+    }
+
+    public URI uri() {
+        return URI.create("http://localhost:" + server.getAddress().getPort() + "/notify");
+    }
+
+    public Map<String, Long> summary() {
+        return Map.of(
+                "requests", requests.get(),
+                "injectedFailures", injectedFailures.get(),
+                "acceptedRequests", (long) idempotencyKeys.size(),
+                "alerts", alerts.get(),
+                "duplicateAlerts", duplicateAlerts.get());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        try (exchange; InputStream body = exchange.getRequestBody()) {
+            byte[] payload = body.readAllBytes();
+            if (ThreadLocalRandom.current().nextDouble() < failureRate) {
+                injectedFailures.incrementAndGet();
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+            idempotencyKeys.add(String.valueOf(exchange.getRequestHeaders().getFirst("Idempotency-Key")));
+            for (var alert : objectMapper.readTree(payload).path("alerts")) {
+                alerts.incrementAndGet();
+                if (!notificationIds.add(alert.path("id").asLong())) {
+                    duplicateAlerts.incrementAndGet();
+                }
+            }
+            exchange.sendResponseHeaders(204, -1);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
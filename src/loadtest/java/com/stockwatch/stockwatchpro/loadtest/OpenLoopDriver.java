@@ -0,0 +1,91 @@
+package com.stockwatch.stockwatchpro.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+public final class OpenLoopDriver {
+    private final HttpClient client;
+    private final LoadContext context;
+    private final LatencyRecorder recorder;
+
+    public OpenLoopDriver(HttpClient client, LoadContext context, LatencyRecorder recorder) {
+        this.client = client;
+        this.context = context;
+        this.recorder = recorder;
+    }
+
+    public void run(List<Operation> operations, LoadTestConfig config) throws InterruptedException {
+        int totalWeight = operations.stream().mapToInt(Operation::weight).sum();
+        SplittableRandom random = new SplittableRandom(config.seed());
+        AtomicInteger inFlight = new AtomicInteger();
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / config.rate());
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(config.warmupSeconds());
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(config.durationSeconds());
+
+        try (ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long intended = start + i * intervalNanos;
+                if (intended >= end) {
+                    break;
+                }
+                long wait;
+                while ((wait = intended - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+
+                Operation operation = pick(operations, totalWeight, random);
+                HttpRequest request = operation.request().apply(context, random);
+                boolean measured = intended >= measureFrom;
+                if (inFlight.incrementAndGet() > config.maxInFlight()) {
+                    inFlight.decrementAndGet();
+                    if (measured) {
+                        recorder.dropped(operation.name());
+                    }
+                    continue;
+                }
+                senders.execute(() -> send(operation, request, intended, measured, inFlight));
+            }
+            senders.shutdown();
+            senders.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+
+    private void send(Operation operation, HttpRequest request, long intended, boolean measured, AtomicInteger inFlight) {
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (measured) {
+                recorder.record(operation.name(), System.nanoTime() - intended, response.statusCode());
+            }
+            operation.onResponse().accept(context, response);
+        } catch (IOException | RuntimeException e) {
+            if (measured) {
+                recorder.failed(operation.name(), System.nanoTime() - intended);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private static Operation pick(List<Operation> operations, int totalWeight, SplittableRandom random) {
+        int ticket = random.nextInt(totalWeight);
+        for (Operation operation : operations) {
+            ticket -= operation.weight();
+            if (ticket < 0) {
+                return operation;
+            }
+        }
+        return operations.get(operations.size() - 1);
+    }
+}
@@ -0,0 +1,17 @@
+package com.stockwatch.stockwatchpro.loadtest;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.SplittableRandom;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+
+public record Operation(String name, int weight,
+                        BiFunction<LoadContext, SplittableRandom, HttpRequest> request,
+                        BiConsumer<LoadContext, HttpResponse<String>> onResponse) {
+
+    public Operation(String name, int weight, BiFunction<LoadContext, SplittableRandom, HttpRequest> request) {
+        this(name, weight, request, (context, response) -> {
+        });
+    }
+}
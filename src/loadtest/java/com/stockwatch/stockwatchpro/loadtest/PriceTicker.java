@@ -0,0 +1,57 @@
+package com.stockwatch.stockwatchpro.loadtest;
+
+import com.stockwatch.stockwatchpro.marketdata.PriceFeed;
+import com.stockwatch.stockwatchpro.marketdata.PriceTick;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+public final class PriceTicker implements AutoCloseable {
+    private final PriceFeed priceFeed;
+    private final SeededData data;
+    private final double ticksPerSecond;
+    private final SplittableRandom random;
+    private final AtomicLong published = new AtomicLong();
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    private PriceTicker(PriceFeed priceFeed, SeededData data, double ticksPerSecond, long seed) {
+        this.priceFeed = priceFeed;
+        this.data = data;
+        this.ticksPerSecond = ticksPerSecond;
+        this.random = new SplittableRandom(seed);
+        this.thread = Thread.ofVirtual().name("load-price-ticker").start(this::run);
+    }
+
+    public static PriceTicker start(PriceFeed priceFeed, SeededData data, double ticksPerSecond, long seed) {
+        return new PriceTicker(priceFeed, data, ticksPerSecond, seed);
+    }
+
+    public long published() {
+        return published.get();
+    }
+
+    private void run() {
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ticksPerSecond);
+        long next = System.nanoTime();
+        while (running) {
+            int stockId = data.firstStockId() + random.nextInt(data.lastStockId() - data.firstStockId() + 1);
+            BigDecimal price = BigDecimal.valueOf(5 + random.nextDouble() * 495).setScale(2, RoundingMode.HALF_UP);
+            priceFeed.publish(new PriceTick(stockId, "S" + (stockId - data.firstStockId() + 1), price,
+                    random.nextInt(1, 10_000), System.currentTimeMillis()));
+            published.incrementAndGet();
+            next += intervalNanos;
+            LockSupport.parkNanos(next - System.nanoTime());
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        thread.join();
+    }
+}
@@ -0,0 +1,10 @@
+package com.stockwatch.stockwatchpro.loadtest;
+
+import java.util.List;
+
+public record SeededData(List<Account> accounts, String password, int firstStockId, int lastStockId,
+                         int firstAlertId, int lastAlertId, List<String> companyNameTerms) {
+
+    public record Account(String username, String email) {
+    }
+}
@@ -0,0 +1,118 @@
+package com.stockwatch.stockwatchpro.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+public final class Workloads {
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final List<String> INDUSTRIES = List.of(
+            "Technology", "Healthcare", "Financials", "Energy", "Industrials", "Consumer", "Utilities", "Materials");
+
+    private static final Operation LOGIN = new Operation("POST /account/login", 2, (context, random) -> {
+        SeededData.Account account = context.data().accounts().get(random.nextInt(context.data().accounts().size()));
+        return json("POST", context, "/account/login", null,
+                Map.of("email", account.email(), "password", context.data().password()));
+    });
+    private static final Operation CATALOG_PAGE = new Operation("GET /stock", 20, (context, random) ->
+            get(context, random, "/stock?limit=100&sort=" + (random.nextBoolean() ? "id" : "symbol")));
+    private static final Operation CATALOG_INDUSTRY = new Operation("GET /stock/industry/{industry}", 8, (context, random) ->
+            get(context, random, "/stock/industry/" + INDUSTRIES.get(random.nextInt(INDUSTRIES.size())) + "?limit=50"));
+    private static final Operation STOCK_BY_ID = new Operation("GET /stock/{id}", 15, (context, random) ->
+            get(context, random, "/stock/" + context.randomStockId(random)));
+    private static final Operation SEARCH = new Operation("GET /stock/search", 8, (context, random) ->
+            get(context, random, "/stock/search?limit=20&companyName=" + term(context, random, 3)));
+    private static final Operation AUTOCOMPLETE = new Operation("GET /stock/autocomplete", 10, (context, random) ->
+            get(context, random, "/stock/autocomplete?limit=10&q=" + term(context, random, 1 + random.nextInt(3))));
+    private static final Operation PORTFOLIO = new Operation("GET /portfolio", 8, (context, random) ->
+            get(context, random, "/portfolio"));
+    private static final Operation PORTFOLIO_VALUATION = new Operation("GET /portfolio/valuation", 6, (context, random) ->
+            get(context, random, "/portfolio/valuation"));
+    private static final Operation ACTIVE_ALERTS = new Operation("GET /pricealert/user/active", 6, (context, random) ->
+            get(context, random, "/pricealert/user/active"));
+    private static final Operation CREATE_ALERT = new Operation("POST /pricealert", 3, (context, random) ->
+            json("POST", context, "/pricealert", context.token(context.randomAccount(random)), Map.of(
+                    "stockId", context.randomStockId(random),
+                    "targetPrice", 5 + random.nextInt(49_500) / 100.0,
+                    "alertType", random.nextBoolean() ? "PRICE_ABOVE" : "PRICE_BELOW")),
+            (context, response) -> {
+                if (response.statusCode() == 201) {
+                    context.deletableAlertIds().add(readTree(context, response).path("id").asInt());
+                }
+            });
+    private static final Operation DELETE_ALERT = new Operation("DELETE /pricealert/{id}", 3, (context, random) -> {
+        Integer id = context.deletableAlertIds().pollFirst();
+        return HttpRequest.newBuilder(context.uri("/pricealert/" + (id != null ? id : 0)))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", "Bearer " + context.token(context.randomAccount(random)))
+                .DELETE()
+                .build();
+    });
+    private static final Operation COMMENT_FEED = new Operation("GET /comment/stock/{id}", 11, (context, random) ->
+            get(context, random, "/comment/stock/" + context.randomStockId(random) + "?limit=20"));
+
+    private static final Map<String, List<Operation>> WORKLOADS = Map.of(
+            "mixed", List.of(LOGIN, CATALOG_PAGE, CATALOG_INDUSTRY, STOCK_BY_ID, SEARCH, AUTOCOMPLETE, PORTFOLIO,
+                    PORTFOLIO_VALUATION, ACTIVE_ALERTS, CREATE_ALERT, DELETE_ALERT, COMMENT_FEED),
+            "browse", List.of(CATALOG_PAGE, CATALOG_INDUSTRY, STOCK_BY_ID, SEARCH, AUTOCOMPLETE),
+            "portfolio", List.of(PORTFOLIO, PORTFOLIO_VALUATION, STOCK_BY_ID),
+            "alerts", List.of(ACTIVE_ALERTS, CREATE_ALERT, DELETE_ALERT),
+            "comments", List.of(COMMENT_FEED, STOCK_BY_ID),
+            "login", List.of(LOGIN));
+
+    private Workloads() {
+    }
+
+    public static List<Operation> named(String name) {
+        List<Operation> operations = WORKLOADS.get(name);
+        if (operations == null) {
+            throw new IllegalArgumentException("Unknown workload " + name + "; expected one of " + WORKLOADS.keySet());
+        }
+        return operations;
+    }
+
+    private static HttpRequest get(LoadContext context, SplittableRandom random, String path) {
+        return HttpRequest.newBuilder(context.uri(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", "Bearer " + context.token(context.randomAccount(random)))
+                .GET()
+                .build();
+    }
+
+    private static HttpRequest json(String method, LoadContext context, String path, String token, Object body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(context.uri(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        try {
+            return builder.method(method, HttpRequest.BodyPublishers.ofString(context.objectMapper().writeValueAsString(body))).build();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String term(LoadContext context, SplittableRandom random, int length) {
+        List<String> terms = context.data().companyNameTerms();
+        String term = terms.get(random.nextInt(terms.size()));
+        return URLEncoder.encode(term.substring(0, Math.min(length, term.length())), StandardCharsets.UTF_8);
+    }
+
+    private static JsonNode readTree(LoadContext context, HttpResponse<String> response) {
+        try {
+            return context.objectMapper().readTree(response.body());
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
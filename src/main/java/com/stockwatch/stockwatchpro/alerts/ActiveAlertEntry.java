@@ -0,0 +1,8 @@
+package com.stockwatch.stockwatchpro.alerts;
+
+import com.stockwatch.stockwatchpro.models.PriceAlert;
+
+import java.math.BigDecimal;
+
+public record ActiveAlertEntry(Integer id, Integer stockId, BigDecimal targetPrice, PriceAlert.AlertType alertType) {
+}
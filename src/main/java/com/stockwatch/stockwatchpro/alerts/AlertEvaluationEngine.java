@@ -0,0 +1,229 @@
+package com.stockwatch.stockwatchpro.alerts;
+
+import com.stockwatch.stockwatchpro.marketdata.PriceTick;
+import com.stockwatch.stockwatchpro.marketdata.PriceTickListener;
+import com.stockwatch.stockwatchpro.models.PriceAlert;
+import com.stockwatch.stockwatchpro.repositories.PriceAlertRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+
+@Component
+public class AlertEvaluationEngine implements PriceTickListener {
+    private static final Logger log = LoggerFactory.getLogger(AlertEvaluationEngine.class);
+    private static final int LOAD_BATCH_SIZE = 5000;
+
+    private final PriceAlertRepository priceAlertRepository;
+    private final AlertShard[] shards;
+    private final int partitionCount;
+    private final AtomicLongArray ownedPartitions;
+    private final Map<Integer, Integer> trackedStockIds = new ConcurrentHashMap<>();
+
+    public AlertEvaluationEngine(PriceAlertRepository priceAlertRepository,
+                                 TriggeredAlertHandler triggeredAlertHandler,
+                                 @Value("${alerts.engine.shards:0}") int shardCount,
+                                 @Value("${alerts.partitions.count:0}") int partitionCount,
+                                 MeterRegistry meterRegistry) {
+        this.priceAlertRepository = priceAlertRepository;
+        int count = shardCount > 0 ? shardCount : Runtime.getRuntime().availableProcessors();
+        Counter conflatedTicks = Counter.builder("alerts.engine.ticks.conflated").register(meterRegistry);
+        Counter deferredTriggers = Counter.builder("alerts.engine.triggers.deferred").register(meterRegistry);
+        this.shards = new AlertShard[count];
+        for (int i = 0; i < count; i++) {
+            shards[i] = new AlertShard(i, triggeredAlertHandler, trackedStockIds::put, trackedStockIds::remove,
+                    conflatedTicks, deferredTriggers);
+        }
+        meterRegistry.gauge("alerts.engine.pending-ticks", this, AlertEvaluationEngine::getPendingTickCount);
+        this.partitionCount = partitionCount;
+        this.ownedPartitions = new AtomicLongArray(Math.max(1, (partitionCount + 63) / 64));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadActiveAlerts() {
+        if (isPartitioned()) {
+            log.info("Alert evaluation partitioned into {} partitions; waiting for partition ownership", partitionCount);
+            return;
+        }
+        int loaded = 0;
+        int afterId = 0;
+        List<ActiveAlertEntry> batch;
+        do {
+            batch = priceAlertRepository.findActiveAlertEntriesAfterId(afterId, PageRequest.of(0, LOAD_BATCH_SIZE));
+            for (ActiveAlertEntry entry : batch) {
+                trackEntry(entry);
+                afterId = entry.id();
+            }
+            loaded += batch.size();
+        } while (batch.size() == LOAD_BATCH_SIZE);
+        log.info("Loaded {} active price alerts into {} shards", loaded, shards.length);
+    }
+
+    public boolean isPartitioned() {
+        return partitionCount > 0;
+    }
+
+    public int getPartitionCount() {
+        return partitionCount;
+    }
+
+    public int partitionOf(int stockId) {
+        return Math.floorMod(stockId, partitionCount);
+    }
+
+    public boolean owns(int stockId) {
+        if (!isPartitioned()) {
+            return true;
+        }
+        int partition = partitionOf(stockId);
+        return (ownedPartitions.get(partition >>> 6) & (1L << partition)) != 0;
+    }
+
+    public int assignPartition(int partition) {
+        setOwned(partition, true);
+        return syncPartition(partition);
+    }
+
+    public int syncPartition(int partition) {
+        return syncPartitions(List.of(partition));
+    }
+
+    public int resync() {
+        if (!isPartitioned()) {
+            return sync(stockId -> true,
+                    afterId -> priceAlertRepository.findActiveAlertEntriesAfterId(afterId, PageRequest.of(0, LOAD_BATCH_SIZE)));
+        }
+        List<Integer> owned = new ArrayList<>();
+        for (int partition = 0; partition < partitionCount; partition++) {
+            if ((ownedPartitions.get(partition >>> 6) & (1L << partition)) != 0) {
+                owned.add(partition);
+            }
+        }
+        return owned.isEmpty() ? 0 : syncPartitions(owned);
+    }
+
+    private int syncPartitions(List<Integer> partitions) {
+        Set<Integer> inScope = Set.copyOf(partitions);
+        return sync(stockId -> inScope.contains(partitionOf(stockId)),
+                afterId -> priceAlertRepository.findActiveAlertEntriesInPartitionsAfterId(afterId, partitions, partitionCount,
+                        PageRequest.of(0, LOAD_BATCH_SIZE)));
+    }
+
+    public void revokePartition(int partition) {
+        setOwned(partition, false);
+        trackedStockIds.forEach((alertId, stockId) -> {
+            if (partitionOf(stockId) == partition) {
+                untrack(alertId, stockId);
+            }
+        });
+    }
+
+    public void track(PriceAlert priceAlert) {
+        if (!Boolean.TRUE.equals(priceAlert.getIsActive()) || !owns(priceAlert.getStockId())) {
+            untrack(priceAlert.getId(), priceAlert.getStockId());
+            return;
+        }
+        trackedStockIds.put(priceAlert.getId(), priceAlert.getStockId());
+        shardFor(priceAlert.getStockId()).track(priceAlert.getId(), priceAlert.getStockId(),
+                priceAlert.getAlertType(), priceAlert.getTargetPrice());
+    }
+
+    public void untrack(Integer alertId) {
+        Integer stockId = trackedStockIds.get(alertId);
+        if (stockId != null) {
+            untrack(alertId, stockId);
+        }
+    }
+
+    public void untrack(Integer alertId, Integer stockId) {
+        trackedStockIds.remove(alertId);
+        shardFor(stockId).untrack(alertId);
+    }
+
+    @Override
+    public void onPriceTick(PriceTick tick) {
+        if (owns(tick.stockId())) {
+            shardFor(tick.stockId()).evaluate(tick);
+        }
+    }
+
+    public int getTrackedAlertCount() {
+        int total = 0;
+        for (AlertShard shard : shards) {
+            total += shard.trackedCount();
+        }
+        return total;
+    }
+
+    public int getPendingTickCount() {
+        int total = 0;
+        for (AlertShard shard : shards) {
+            total += shard.pendingTickCount();
+        }
+        return total;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (AlertShard shard : shards) {
+            shard.shutdown();
+        }
+    }
+
+    private int sync(IntPredicate inScope, IntFunction<List<ActiveAlertEntry>> pageAfter) {
+        Set<Integer> previouslyTracked = new HashSet<>();
+        trackedStockIds.forEach((alertId, stockId) -> {
+            if (inScope.test(stockId)) {
+                previouslyTracked.add(alertId);
+            }
+        });
+        Set<Integer> loadedIds = new HashSet<>();
+        int afterId = 0;
+        List<ActiveAlertEntry> batch;
+        do {
+            batch = pageAfter.apply(afterId);
+            for (ActiveAlertEntry entry : batch) {
+                trackEntry(entry);
+                loadedIds.add(entry.id());
+                afterId = entry.id();
+            }
+        } while (batch.size() == LOAD_BATCH_SIZE);
+        previouslyTracked.removeAll(loadedIds);
+        previouslyTracked.forEach(this::untrack);
+        return loadedIds.size();
+    }
+
+    private void trackEntry(ActiveAlertEntry entry) {
+        trackedStockIds.put(entry.id(), entry.stockId());
+        shardFor(entry.stockId()).track(entry.id(), entry.stockId(), entry.alertType(), entry.targetPrice());
+    }
+
+    private void setOwned(int partition, boolean owned) {
+        long bit = 1L << partition;
+        int word = partition >>> 6;
+        long current;
+        do {
+            current = ownedPartitions.get(word);
+        } while (!ownedPartitions.compareAndSet(word, current, owned ? current | bit : current & ~bit));
+    }
+
+    private AlertShard shardFor(int stockId) {
+        return shards[Math.floorMod((stockId * 0x9E3779B1) >>> 16, shards.length)];
+    }
+}
@@ -0,0 +1,201 @@
+package com.stockwatch.stockwatchpro.alerts;
+
+import com.stockwatch.stockwatchpro.support.DedicatedConnectionFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.BitSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+public class AlertPartitionCoordinator {
+    private static final Logger log = LoggerFactory.getLogger(AlertPartitionCoordinator.class);
+    private static final String COUNT_MEMBERS_SQL = "SELECT count(*) FROM pg_locks WHERE locktype = 'advisory' " +
+            "AND classid::bigint = ? AND objsubid = 2 AND granted " +
+            "AND database = (SELECT oid FROM pg_database WHERE datname = current_database())";
+
+    private final AlertEvaluationEngine engine;
+    private final DedicatedConnectionFactory connectionFactory;
+    private final int partitionCount;
+    private final int lockNamespace;
+    private final long heartbeatMs;
+    private final long resyncIntervalMs;
+    private final BitSet owned = new BitSet();
+    private final AtomicInteger ownedCount = new AtomicInteger();
+    private volatile boolean running;
+    private Thread coordinator;
+    private Connection connection;
+    private int backendPid;
+    private long lastResyncAt;
+
+    public AlertPartitionCoordinator(AlertEvaluationEngine engine, DedicatedConnectionFactory connectionFactory,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${alerts.partitions.lock-namespace:24601}") int lockNamespace,
+                                     @Value("${alerts.partitions.heartbeat-ms:2000}") long heartbeatMs,
+                                     @Value("${alerts.partitions.resync-interval-ms:60000}") long resyncIntervalMs) {
+        this.engine = engine;
+        this.connectionFactory = connectionFactory;
+        this.partitionCount = engine.getPartitionCount();
+        this.lockNamespace = lockNamespace;
+        this.heartbeatMs = heartbeatMs;
+        this.resyncIntervalMs = resyncIntervalMs;
+        meterRegistry.gauge("alerts.partitions.owned", ownedCount);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!engine.isPartitioned()) {
+            return;
+        }
+        running = true;
+        coordinator = new Thread(this::runHeartbeatLoop, "alert-partition-coordinator");
+        coordinator.setDaemon(true);
+        coordinator.start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (coordinator != null) {
+            coordinator.interrupt();
+            try {
+                coordinator.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public int getOwnedPartitionCount() {
+        return ownedCount.get();
+    }
+
+    private void runHeartbeatLoop() {
+        while (running) {
+            try {
+                heartbeat();
+            } catch (SQLException | RuntimeException e) {
+                log.warn("Alert partition heartbeat failed, releasing {} partitions", owned.cardinality(), e);
+                disconnect();
+            }
+            try {
+                Thread.sleep(heartbeatMs);
+            } catch (InterruptedException e) {
+                break;
+            }
+        }
+        disconnect();
+    }
+
+    void heartbeat() throws SQLException {
+        if (connection == null || !connection.isValid((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(heartbeatMs)))) {
+            disconnect();
+            connect();
+        }
+        int members = countMembers();
+        int target = (partitionCount + members - 1) / Math.max(1, members);
+        releaseExcess(target);
+        acquireFree(target);
+        if (System.currentTimeMillis() - lastResyncAt >= resyncIntervalMs) {
+            engine.resync();
+            lastResyncAt = System.currentTimeMillis();
+        }
+    }
+
+    private void connect() throws SQLException {
+        connection = connectionFactory.open("stockwatch-alert-partitions");
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_backend_pid()");
+             ResultSet resultSet = statement.executeQuery()) {
+            resultSet.next();
+            backendPid = resultSet.getInt(1);
+        }
+        if (!tryLock(lockNamespace + 1, backendPid)) {
+            throw new SQLException("Could not register alert partition membership for backend " + backendPid);
+        }
+        lastResyncAt = System.currentTimeMillis();
+        log.info("Joined alert partition group as backend {}", backendPid);
+    }
+
+    private void disconnect() {
+        for (int partition = owned.nextSetBit(0); partition >= 0; partition = owned.nextSetBit(partition + 1)) {
+            engine.revokePartition(partition);
+        }
+        owned.clear();
+        ownedCount.set(0);
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                log.debug("Failed to close alert partition connection", e);
+            }
+            connection = null;
+        }
+    }
+
+    private int countMembers() throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(COUNT_MEMBERS_SQL)) {
+            statement.setLong(1, lockNamespace + 1);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return Math.max(1, resultSet.getInt(1));
+            }
+        }
+    }
+
+    private void releaseExcess(int target) throws SQLException {
+        while (owned.cardinality() > target) {
+            int partition = owned.previousSetBit(partitionCount - 1);
+            engine.revokePartition(partition);
+            owned.clear(partition);
+            ownedCount.set(owned.cardinality());
+            unlock(lockNamespace, partition);
+            log.info("Released alert partition {}", partition);
+        }
+    }
+
+    private void acquireFree(int target) throws SQLException {
+        int start = Math.floorMod(backendPid, partitionCount);
+        for (int i = 0; i < partitionCount && owned.cardinality() < target; i++) {
+            int partition = (start + i) % partitionCount;
+            if (owned.get(partition) || !tryLock(lockNamespace, partition)) {
+                continue;
+            }
+            owned.set(partition);
+            ownedCount.set(owned.cardinality());
+            int loaded = engine.assignPartition(partition);
+            log.info("Acquired alert partition {} with {} active alerts", partition, loaded);
+        }
+    }
+
+    private boolean tryLock(int namespace, int key) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_try_advisory_lock(?, ?)")) {
+            statement.setInt(1, namespace);
+            statement.setInt(2, key);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getBoolean(1);
+            }
+        }
+    }
+
+    private void unlock(int namespace, int key) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_advisory_unlock(?, ?)")) {
+            statement.setInt(1, namespace);
+            statement.setInt(2, key);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+            }
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.stockwatch.stockwatchpro.alerts;
+
+import com.stockwatch.stockwatchpro.marketdata.PriceTick;
+import com.stockwatch.stockwatchpro.models.PriceAlert;
+import io.micrometer.core.instrument.Counter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiConsumer;
+import java.util.function.IntConsumer;
+
+class AlertShard {
+    private static final Logger log = LoggerFactory.getLogger(AlertShard.class);
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final TriggeredAlertHandler handler;
+    private final BiConsumer<Integer, Integer> onTracked;
+    private final IntConsumer onReleased;
+    private final Thread worker;
+    private final Queue<Runnable> commands = new ConcurrentLinkedQueue<>();
+    private final Map<Integer, PriceRange> pendingTicks = new ConcurrentHashMap<>();
+    private final Queue<Integer> dirtyStocks = new ConcurrentLinkedQueue<>();
+    private final Counter conflatedTicks;
+    private final Counter deferredTriggers;
+    private final Map<Integer, StockBook> books = new HashMap<>();
+    private final Map<Integer, IndexedAlert> alerts = new HashMap<>();
+    private int[] fired = new int[16];
+    private IndexedAlert[] firedAlerts = new IndexedAlert[16];
+    private int firedCount;
+    private volatile int trackedCount;
+    private volatile boolean running = true;
+
+    AlertShard(int index, TriggeredAlertHandler handler, BiConsumer<Integer, Integer> onTracked,
+               IntConsumer onReleased, Counter conflatedTicks, Counter deferredTriggers) {
+        this.handler = handler;
+        this.onTracked = onTracked;
+        this.onReleased = onReleased;
+        this.conflatedTicks = conflatedTicks;
+        this.deferredTriggers = deferredTriggers;
+        this.worker = new Thread(this::runLoop, "alert-shard-" + index);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    void track(int alertId, int stockId, PriceAlert.AlertType alertType, BigDecimal targetPrice) {
+        long priceCents = toCents(targetPrice, RoundingMode.HALF_UP);
+        submit(() -> applyTrack(new IndexedAlert(alertId, stockId, alertType, priceCents)));
+    }
+
+    void untrack(int alertId) {
+        submit(() -> applyUntrack(alertId));
+    }
+
+    void evaluate(PriceTick tick) {
+        PriceRange range = new PriceRange(tick.price(), tick.price(), tick.timestamp());
+        if (pendingTicks.merge(tick.stockId(), range, PriceRange::merge) == range) {
+            dirtyStocks.add(tick.stockId());
+            LockSupport.unpark(worker);
+        } else {
+            conflatedTicks.increment();
+        }
+    }
+
+    int trackedCount() {
+        return trackedCount;
+    }
+
+    int pendingTickCount() {
+        return pendingTicks.size();
+    }
+
+    void shutdown() {
+        running = false;
+        LockSupport.unpark(worker);
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void submit(Runnable command) {
+        commands.add(command);
+        LockSupport.unpark(worker);
+    }
+
+    private void runLoop() {
+        while (running || !commands.isEmpty() || !dirtyStocks.isEmpty()) {
+            boolean worked = false;
+            Runnable command;
+            while ((command = commands.poll()) != null) {
+                run(command);
+                worked = true;
+            }
+            Integer stockId = dirtyStocks.poll();
+            if (stockId != null) {
+                PriceRange range = pendingTicks.remove(stockId);
+                if (range != null) {
+                    run(() -> applyTick(stockId, range));
+                }
+                worked = true;
+            }
+            if (!worked) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    private void run(Runnable command) {
+        try {
+            command.run();
+        } catch (RuntimeException e) {
+            log.error("Alert shard command failed", e);
+        }
+    }
+
+    private void applyTrack(IndexedAlert alert) {
+        remove(alert.id());
+        books.computeIfAbsent(alert.stockId(), stockId -> new StockBook())
+                .side(alert.alertType())
+                .add(alert.priceCents(), alert.id());
+        alerts.put(alert.id(), alert);
+        trackedCount = alerts.size();
+        onTracked.accept(alert.id(), alert.stockId());
+    }
+
+    private void applyUntrack(int alertId) {
+        if (remove(alertId)) {
+            onReleased.accept(alertId);
+        }
+    }
+
+    private boolean remove(int alertId) {
+        IndexedAlert alert = alerts.remove(alertId);
+        if (alert == null) {
+            return false;
+        }
+        StockBook book = books.get(alert.stockId());
+        book.side(alert.alertType()).remove(alert.priceCents(), alertId);
+        if (book.isEmpty()) {
+            books.remove(alert.stockId());
+        }
+        trackedCount = alerts.size();
+        return true;
+    }
+
+    private void applyTick(int stockId, PriceRange range) {
+        StockBook book = books.get(stockId);
+        if (book == null) {
+            return;
+        }
+
+        firedCount = 0;
+        book.above.drainAtOrBelow(toCents(range.high(), RoundingMode.FLOOR), this::collect);
+        int firedAbove = firedCount;
+        book.below.drainAtOrAbove(toCents(range.low(), RoundingMode.CEILING), this::collect);
+        if (firedCount == 0) {
+            return;
+        }
+
+        for (int i = 0; i < firedCount; i++) {
+            firedAlerts[i] = alerts.remove(fired[i]);
+        }
+        if (book.isEmpty()) {
+            books.remove(stockId);
+        }
+        trackedCount = alerts.size();
+
+        handOff(stockId, range.high(), 0, firedAbove, range.timestamp());
+        handOff(stockId, range.low(), firedAbove, firedCount, range.timestamp());
+        Arrays.fill(firedAlerts, 0, firedCount, null);
+    }
+
+    private void handOff(int stockId, BigDecimal price, int from, int to, long timestamp) {
+        if (from == to) {
+            return;
+        }
+        int accepted = 0;
+        try {
+            accepted = handler.onAlertsTriggered(stockId, price, Arrays.copyOfRange(fired, from, to), timestamp);
+        } catch (RuntimeException e) {
+            log.error("Failed to hand off {} triggered alerts for stock {}", to - from, stockId, e);
+        }
+        for (int i = from; i < from + accepted; i++) {
+            onReleased.accept(fired[i]);
+        }
+        for (int i = from + accepted; i < to; i++) {
+            if (firedAlerts[i] != null) {
+                applyTrack(firedAlerts[i]);
+            }
+        }
+        if (from + accepted < to) {
+            deferredTriggers.increment(to - from - accepted);
+        }
+    }
+
+    private void collect(int alertId) {
+        if (firedCount == fired.length) {
+            fired = Arrays.copyOf(fired, firedCount * 2);
+            firedAlerts = Arrays.copyOf(firedAlerts, firedCount * 2);
+        }
+        fired[firedCount++] = alertId;
+    }
+
+    static long toCents(BigDecimal price, RoundingMode roundingMode) {
+        return price.movePointRight(2).setScale(0, roundingMode).longValueExact();
+    }
+
+    private record PriceRange(BigDecimal low, BigDecimal high, long timestamp) {
+        PriceRange merge(PriceRange next) {
+            return new PriceRange(low.min(next.low()), high.max(next.high()), Math.max(timestamp, next.timestamp()));
+        }
+    }
+
+    private record IndexedAlert(int id, int stockId, PriceAlert.AlertType alertType, long priceCents) {
+    }
+
+    private static final class StockBook {
+        private final PriceLevelIndex above = new PriceLevelIndex();
+        private final PriceLevelIndex below = new PriceLevelIndex();
+
+        PriceLevelIndex side(PriceAlert.AlertType alertType) {
+            return alertType == PriceAlert.AlertType.PRICE_ABOVE ? above : below;
+        }
+
+        boolean isEmpty() {
+            return above.size() == 0 && below.size() == 0;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.stockwatch.stockwatchpro.alerts;
+
+import java.util.Arrays;
+import java.util.TreeMap;
+import java.util.function.IntConsumer;
+
+class PriceLevelIndex {
+    private final TreeMap<Long, Level> levels = new TreeMap<>();
+    private int size;
+
+    void add(long priceCents, int alertId) {
+        levels.computeIfAbsent(priceCents, price -> new Level()).add(alertId);
+        size++;
+    }
+
+    boolean remove(long priceCents, int alertId) {
+        Level level = levels.get(priceCents);
+        if (level == null || !level.remove(alertId)) {
+            return false;
+        }
+        if (level.count == 0) {
+            levels.remove(priceCents);
+        }
+        size--;
+        return true;
+    }
+
+    int drainAtOrBelow(long priceCents, IntConsumer sink) {
+        int drained = 0;
+        while (!levels.isEmpty() && levels.firstKey() <= priceCents) {
+            drained += levels.pollFirstEntry().getValue().drainTo(sink);
+        }
+        size -= drained;
+        return drained;
+    }
+
+    int drainAtOrAbove(long priceCents, IntConsumer sink) {
+        int drained = 0;
+        while (!levels.isEmpty() && levels.lastKey() >= priceCents) {
+            drained += levels.pollLastEntry().getValue().drainTo(sink);
+        }
+        size -= drained;
+        return drained;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private static final class Level {
+        private int[] alertIds = new int[2];
+        private int count;
+
+        void add(int alertId) {
+            if (count == alertIds.length) {
+                alertIds = Arrays.copyOf(alertIds, count * 2);
+            }
+            alertIds[count++] = alertId;
+        }
+
+        boolean remove(int alertId) {
+            for (int i = 0; i < count; i++) {
+                if (alertIds[i] == alertId) {
+                    alertIds[i] = alertIds[--count];
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        int drainTo(IntConsumer sink) {
+            for (int i = 0; i < count; i++) {
+                sink.accept(alertIds[i]);
+            }
+            return count;
+        }
+    }
+}
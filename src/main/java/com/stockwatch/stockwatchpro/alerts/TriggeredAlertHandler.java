@@ -0,0 +1,7 @@
+package com.stockwatch.stockwatchpro.alerts;
+
+import java.math.BigDecimal;
+
+public interface TriggeredAlertHandler {
+    int onAlertsTriggered(int stockId, BigDecimal price, int[] alertIds, long timestamp);
+}
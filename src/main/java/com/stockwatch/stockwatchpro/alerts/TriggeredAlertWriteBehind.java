@@ -0,0 +1,105 @@
+package com.stockwatch.stockwatchpro.alerts;
+
+import com.stockwatch.stockwatchpro.cache.CacheInvalidationPublisher;
+import com.stockwatch.stockwatchpro.cache.EntityChange;
+import com.stockwatch.stockwatchpro.cache.ResourceVersions;
+import com.stockwatch.stockwatchpro.repositories.PriceAlertRepository;
+import com.stockwatch.stockwatchpro.support.BatchFlusher;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class TriggeredAlertWriteBehind implements TriggeredAlertHandler {
+    private final PriceAlertRepository priceAlertRepository;
+    private final Map<Integer, LocalDateTime> pending = new ConcurrentHashMap<>();
+    private final BatchFlusher<TriggeredState> flusher;
+    private final ResourceVersions resourceVersions;
+    private final CacheInvalidationPublisher invalidationPublisher;
+
+    public TriggeredAlertWriteBehind(PriceAlertRepository priceAlertRepository, ResourceVersions resourceVersions,
+                                     CacheInvalidationPublisher invalidationPublisher,
+                                     @Value("${alerts.write-behind.capacity:100000}") int capacity,
+                                     @Value("${alerts.write-behind.batch-size:1000}") int batchSize,
+                                     @Value("${alerts.write-behind.flush-interval-ms:200}") long flushIntervalMs) {
+        this.priceAlertRepository = priceAlertRepository;
+        this.resourceVersions = resourceVersions;
+        this.invalidationPublisher = invalidationPublisher;
+        this.flusher = new BatchFlusher<>("alert-write-behind", capacity, batchSize, flushIntervalMs, this::flush);
+    }
+
+    @Override
+    public int onAlertsTriggered(int stockId, BigDecimal price, int[] alertIds, long timestamp) {
+        LocalDateTime triggeredAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault());
+        LocalDateTime observedAt = LocalDateTime.now();
+        int accepted = 0;
+        for (int alertId : alertIds) {
+            pending.put(alertId, triggeredAt);
+            if (!flusher.offer(new TriggeredState(alertId, triggeredAt, price, observedAt))) {
+                pending.remove(alertId, triggeredAt);
+                break;
+            }
+            accepted++;
+        }
+        if (accepted > 0) {
+            resourceVersions.alertsTriggered();
+        }
+        return accepted;
+    }
+
+    public Optional<LocalDateTime> pendingTriggeredAt(Integer alertId) {
+        return Optional.ofNullable(pending.get(alertId));
+    }
+
+    public void cancel(Integer alertId) {
+        pending.remove(alertId);
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.close();
+    }
+
+    private void flush(List<TriggeredState> batch) {
+        List<TriggeredState> live = new ArrayList<>(batch.size());
+        for (TriggeredState state : batch) {
+            if (state.triggeredAt().equals(pending.get(state.alertId()))) {
+                live.add(state);
+            }
+        }
+        if (!live.isEmpty()) {
+            Integer[] ids = new Integer[live.size()];
+            LocalDateTime[] times = new LocalDateTime[live.size()];
+            BigDecimal[] prices = new BigDecimal[live.size()];
+            LocalDateTime[] observed = new LocalDateTime[live.size()];
+            for (int i = 0; i < live.size(); i++) {
+                ids[i] = live.get(i).alertId();
+                times[i] = live.get(i).triggeredAt();
+                prices[i] = live.get(i).price();
+                observed[i] = live.get(i).observedAt();
+            }
+            priceAlertRepository.markTriggered(ids, times, prices, observed);
+            invalidationPublisher.publish(EntityChange.Type.ALERT_TRIGGERS, null);
+        }
+        for (TriggeredState state : live) {
+            pending.remove(state.alertId(), state.triggeredAt());
+        }
+    }
+
+    private record TriggeredState(int alertId, LocalDateTime triggeredAt, BigDecimal price, LocalDateTime observedAt) {
+    }
+}
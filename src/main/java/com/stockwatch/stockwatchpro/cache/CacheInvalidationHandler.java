@@ -0,0 +1,111 @@
+package com.stockwatch.stockwatchpro.cache;
+
+import com.stockwatch.stockwatchpro.alerts.AlertEvaluationEngine;
+import com.stockwatch.stockwatchpro.dtos.StockDto;
+import com.stockwatch.stockwatchpro.models.PriceAlert;
+import com.stockwatch.stockwatchpro.repositories.PriceAlertRepository;
+import com.stockwatch.stockwatchpro.repositories.StockRepository;
+import com.stockwatch.stockwatchpro.services.StockChangeListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Component
+public class CacheInvalidationHandler {
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationHandler.class);
+
+    private final StockCache stockCache;
+    private final CommentFeedCache commentFeedCache;
+    private final ResourceVersions resourceVersions;
+    private final List<StockChangeListener> stockChangeListeners;
+    private final AlertEvaluationEngine alertEvaluationEngine;
+    private final StockRepository stockRepository;
+    private final PriceAlertRepository priceAlertRepository;
+    private final TransactionTemplate readTransaction;
+
+    public CacheInvalidationHandler(StockCache stockCache, CommentFeedCache commentFeedCache, ResourceVersions resourceVersions,
+                                    List<StockChangeListener> stockChangeListeners, AlertEvaluationEngine alertEvaluationEngine,
+                                    StockRepository stockRepository, PriceAlertRepository priceAlertRepository,
+                                    PlatformTransactionManager transactionManager) {
+        this.stockCache = stockCache;
+        this.commentFeedCache = commentFeedCache;
+        this.resourceVersions = resourceVersions;
+        this.stockChangeListeners = stockChangeListeners;
+        this.alertEvaluationEngine = alertEvaluationEngine;
+        this.stockRepository = stockRepository;
+        this.priceAlertRepository = priceAlertRepository;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    public void apply(Collection<EntityChange> changes) {
+        Set<Integer> stockIds = new HashSet<>();
+        Set<Integer> alertIds = new HashSet<>();
+        for (EntityChange change : changes) {
+            switch (change.type()) {
+                case ALL -> {
+                    flushAll();
+                    return;
+                }
+                case STOCK -> stockIds.add(Integer.valueOf(change.id()));
+                case COMMENT_FEED -> commentFeedCache.bump(Integer.valueOf(change.id()));
+                case PORTFOLIO -> resourceVersions.portfolioChanged(change.id());
+                case USER_ALERTS -> resourceVersions.alertsChanged(change.id());
+                case PRICE_ALERT -> alertIds.add(Integer.valueOf(change.id()));
+                case ALERT_TRIGGERS -> resourceVersions.alertsTriggered();
+            }
+        }
+        if (!stockIds.isEmpty()) {
+            refreshStocks(stockIds);
+        }
+        if (!alertIds.isEmpty()) {
+            refreshAlerts(alertIds);
+        }
+    }
+
+    public void flushAll() {
+        stockCache.invalidateAll();
+        commentFeedCache.bumpAll();
+        resourceVersions.invalidateAll();
+        List<StockDto> catalog = new ArrayList<>();
+        readTransaction.executeWithoutResult(status -> stockRepository.streamCatalog(null, stock -> catalog.add(StockDto.from(stock))));
+        stockChangeListeners.forEach(listener -> listener.onCatalogReloaded(catalog));
+        int alerts = alertEvaluationEngine.resync();
+        log.info("Flushed local caches, reloaded {} stocks and {} active alerts", catalog.size(), alerts);
+    }
+
+    private void refreshStocks(Set<Integer> stockIds) {
+        Map<Integer, StockDto> current = new HashMap<>();
+        readTransaction.executeWithoutResult(status ->
+                stockRepository.findAllById(stockIds).forEach(stock -> current.put(stock.getId(), StockDto.from(stock))));
+        for (Integer stockId : stockIds) {
+            StockDto stock = current.get(stockId);
+            stockCache.invalidate(stockId, stock == null ? null : stock.getSymbol());
+            if (stock == null) {
+                stockChangeListeners.forEach(listener -> listener.onStockDeleted(stockId));
+            } else {
+                stockChangeListeners.forEach(listener -> listener.onStockSaved(stock));
+            }
+        }
+    }
+
+    private void refreshAlerts(Set<Integer> alertIds) {
+        Set<Integer> missing = new HashSet<>(alertIds);
+        List<PriceAlert> alerts = readTransaction.execute(status -> priceAlertRepository.findAllById(alertIds));
+        for (PriceAlert alert : alerts) {
+            missing.remove(alert.getId());
+            alertEvaluationEngine.track(alert);
+        }
+        missing.forEach(alertEvaluationEngine::untrack);
+    }
+}
@@ -0,0 +1,222 @@
+package com.stockwatch.stockwatchpro.cache;
+
+import com.stockwatch.stockwatchpro.support.DedicatedConnectionFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class CacheInvalidationListener {
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationListener.class);
+    private static final int MAX_PAYLOAD_BYTES = 7900;
+
+    private final CacheInvalidationPublisher publisher;
+    private final CacheInvalidationHandler handler;
+    private final DedicatedConnectionFactory connectionFactory;
+    private final String channel;
+    private final long pollIntervalMs;
+    private final long coalesceMs;
+    private final long reconnectDelayMs;
+    private final Map<String, EntityChange> received = new LinkedHashMap<>();
+    private final Counter published;
+    private final Counter applied;
+    private final Counter flushes;
+    private volatile boolean running;
+    private Thread listener;
+    private Connection connection;
+    private int backendPid;
+    private boolean connectedBefore;
+    private long receivedSince;
+
+    public CacheInvalidationListener(CacheInvalidationPublisher publisher, CacheInvalidationHandler handler,
+                                     DedicatedConnectionFactory connectionFactory, MeterRegistry meterRegistry,
+                                     @Value("${cache.invalidation.channel:stockwatch_invalidation}") String channel,
+                                     @Value("${cache.invalidation.poll-interval-ms:50}") long pollIntervalMs,
+                                     @Value("${cache.invalidation.coalesce-ms:100}") long coalesceMs,
+                                     @Value("${cache.invalidation.reconnect-delay-ms:1000}") long reconnectDelayMs) {
+        this.publisher = publisher;
+        this.handler = handler;
+        this.connectionFactory = connectionFactory;
+        this.channel = channel;
+        this.pollIntervalMs = pollIntervalMs;
+        this.coalesceMs = coalesceMs;
+        this.reconnectDelayMs = reconnectDelayMs;
+        this.published = events(meterRegistry, "published");
+        this.applied = events(meterRegistry, "applied");
+        this.flushes = Counter.builder("cache.invalidation.flushes").register(meterRegistry);
+    }
+
+    private static Counter events(MeterRegistry meterRegistry, String direction) {
+        return Counter.builder("cache.invalidation.events")
+                .tag("direction", direction)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!publisher.isEnabled()) {
+            log.info("Cache invalidation bus disabled");
+            return;
+        }
+        running = true;
+        listener = new Thread(this::runListenLoop, "cache-invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+            try {
+                listener.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void runListenLoop() {
+        while (running) {
+            try {
+                if (connection == null) {
+                    connect();
+                }
+                receive();
+                sendPending();
+                applyReceived();
+            } catch (SQLException | RuntimeException e) {
+                log.warn("Cache invalidation listener failed, reconnecting in {} ms", reconnectDelayMs, e);
+                disconnect();
+                try {
+                    Thread.sleep(reconnectDelayMs);
+                } catch (InterruptedException interrupted) {
+                    break;
+                }
+            }
+        }
+        disconnect();
+    }
+
+    private void connect() throws SQLException {
+        connection = connectionFactory.open("stockwatch-cache-invalidation");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("LISTEN " + connection.unwrap(PGConnection.class).escapeIdentifier(channel));
+            try (ResultSet resultSet = statement.executeQuery("SELECT pg_backend_pid()")) {
+                resultSet.next();
+                backendPid = resultSet.getInt(1);
+            }
+        }
+        if (connectedBefore) {
+            received.clear();
+            handler.flushAll();
+            flushes.increment();
+        }
+        connectedBefore = true;
+        log.info("Listening for cache invalidations on channel {}", channel);
+    }
+
+    private void disconnect() {
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                log.debug("Failed to close cache invalidation connection", e);
+            }
+            connection = null;
+        }
+    }
+
+    private void receive() throws SQLException {
+        long timeout = received.isEmpty()
+                ? pollIntervalMs
+                : Math.min(pollIntervalMs, Math.max(1, receivedSince + coalesceMs - System.currentTimeMillis()));
+        PGNotification[] notifications = connection.unwrap(PGConnection.class).getNotifications((int) Math.max(1, timeout));
+        if (notifications == null) {
+            return;
+        }
+        for (PGNotification notification : notifications) {
+            if (notification.getPID() == backendPid) {
+                continue;
+            }
+            if (received.isEmpty()) {
+                receivedSince = System.currentTimeMillis();
+            }
+            for (String line : notification.getParameter().split("\n")) {
+                try {
+                    EntityChange change = EntityChange.decode(line);
+                    received.merge(change.type() + ":" + change.id(), change,
+                            (previous, next) -> next.version() >= previous.version() ? next : previous);
+                } catch (IllegalArgumentException e) {
+                    log.warn("Ignoring malformed cache invalidation from backend {}: {}", notification.getPID(), line);
+                }
+            }
+        }
+    }
+
+    private void applyReceived() {
+        if (received.isEmpty() || System.currentTimeMillis() - receivedSince < coalesceMs) {
+            return;
+        }
+        List<EntityChange> changes = new ArrayList<>(received.values());
+        received.clear();
+        handler.apply(changes);
+        applied.increment(changes.size());
+    }
+
+    private void sendPending() throws SQLException {
+        List<EntityChange> changes = publisher.drain();
+        if (changes.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+            StringBuilder payload = new StringBuilder();
+            int bytes = 0;
+            for (int i = 0; i < changes.size(); i++) {
+                String line = changes.get(i).encode();
+                int lineBytes = line.getBytes(StandardCharsets.UTF_8).length + 1;
+                if (bytes > 0 && bytes + lineBytes > MAX_PAYLOAD_BYTES) {
+                    notify(statement, payload);
+                    payload.setLength(0);
+                    bytes = 0;
+                }
+                payload.append(line).append('\n');
+                bytes += lineBytes;
+            }
+            notify(statement, payload);
+        } catch (SQLException e) {
+            publisher.requeue(changes);
+            throw e;
+        }
+        published.increment(changes.size());
+    }
+
+    private void notify(PreparedStatement statement, StringBuilder payload) throws SQLException {
+        statement.setString(1, channel);
+        statement.setString(2, payload.substring(0, payload.length() - 1));
+        try (ResultSet resultSet = statement.executeQuery()) {
+            resultSet.next();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.stockwatch.stockwatchpro.cache;
+
+import com.stockwatch.stockwatchpro.support.TransactionHooks;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Component
+public class CacheInvalidationPublisher {
+    private final boolean enabled;
+    private final int maxPending;
+    private final Map<Key, Long> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean overflowed = new AtomicBoolean();
+
+    public CacheInvalidationPublisher(@Value("${cache.invalidation.enabled:true}") boolean enabled,
+                                      @Value("${cache.invalidation.max-pending:100000}") int maxPending) {
+        this.enabled = enabled;
+        this.maxPending = maxPending;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void publish(EntityChange.Type type, Object id) {
+        publish(type, id, null);
+    }
+
+    public void publish(EntityChange.Type type, Object id, Long version) {
+        if (!enabled) {
+            return;
+        }
+        Key key = new Key(type, id == null ? "" : id.toString());
+        long value = version == null ? 0 : version;
+        TransactionHooks.afterCommit(() -> enqueue(key, value));
+    }
+
+    List<EntityChange> drain() {
+        if (overflowed.getAndSet(false)) {
+            pending.clear();
+            return List.of(EntityChange.ALL);
+        }
+        List<EntityChange> changes = new ArrayList<>(pending.size());
+        for (Map.Entry<Key, Long> entry : pending.entrySet()) {
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                changes.add(new EntityChange(entry.getKey().type(), entry.getKey().id(), entry.getValue()));
+            }
+        }
+        return changes;
+    }
+
+    void requeue(Collection<EntityChange> changes) {
+        for (EntityChange change : changes) {
+            if (change.type() == EntityChange.Type.ALL) {
+                overflowed.set(true);
+            } else {
+                enqueue(new Key(change.type(), change.id()), change.version());
+            }
+        }
+    }
+
+    private void enqueue(Key key, long version) {
+        pending.merge(key, version, Math::max);
+        if (pending.size() > maxPending) {
+            overflowed.set(true);
+            pending.clear();
+        }
+    }
+
+    private record Key(EntityChange.Type type, String id) {
+    }
+}
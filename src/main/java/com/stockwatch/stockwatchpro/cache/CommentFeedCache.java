@@ -0,0 +1,111 @@
+package com.stockwatch.stockwatchpro.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.stockwatch.stockwatchpro.dtos.CacheStatsDto;
+import com.stockwatch.stockwatchpro.dtos.CommentDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class CommentFeedCache implements StatsReportingCache {
+    private static final int PAGE_OVERHEAD_BYTES = 64;
+    private static final int COMMENT_OVERHEAD_BYTES = 96;
+
+    private final Cache<Integer, FeedPage> pages;
+    private final Map<Integer, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final int pageSize;
+
+    public CommentFeedCache(@Value("${cache.comments.max-bytes:67108864}") long maxBytes,
+                            @Value("${cache.comments.page-size:50}") int pageSize,
+                            @Value("${cache.comments.expire-after-write-seconds:600}") long expireAfterWriteSeconds) {
+        this.pageSize = pageSize;
+        this.pages = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Integer stockId, FeedPage page) -> page.bytes())
+                .expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds))
+                .recordStats()
+                .build();
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public long version(Integer stockId) {
+        AtomicLong version = versions.get(stockId);
+        return generation.get() + (version == null ? 0 : version.get());
+    }
+
+    public Optional<FeedPage> get(Integer stockId) {
+        FeedPage page = pages.getIfPresent(stockId);
+        if (page == null || page.version() != version(stockId)) {
+            return Optional.empty();
+        }
+        return Optional.of(page);
+    }
+
+    public FeedPage put(Integer stockId, long version, List<CommentDto> items, boolean hasMore) {
+        FeedPage page = new FeedPage(version, List.copyOf(items), hasMore, weigh(items));
+        if (version(stockId) == version) {
+            pages.put(stockId, page);
+        }
+        return page;
+    }
+
+    public void bump(Integer stockId) {
+        versions.computeIfAbsent(stockId, key -> new AtomicLong()).incrementAndGet();
+        pages.invalidate(stockId);
+    }
+
+    public void bumpAll() {
+        generation.incrementAndGet();
+        pages.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, pages, "comments.feed");
+    }
+
+    @Override
+    public List<CacheStatsDto> stats() {
+        CacheStats stats = pages.stats();
+        return List.of(CacheStatsDto.builder()
+                .name("comments.feed")
+                .size(pages.estimatedSize())
+                .weightedSize(pages.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L))
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .loadCount(stats.loadCount())
+                .evictionCount(stats.evictionCount())
+                .build());
+    }
+
+    private static int weigh(List<CommentDto> items) {
+        long bytes = PAGE_OVERHEAD_BYTES;
+        for (CommentDto comment : items) {
+            bytes += COMMENT_OVERHEAD_BYTES + 2L * length(comment.getTitle()) + 2L * length(comment.getContent());
+        }
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+    public record FeedPage(long version, List<CommentDto> items, boolean hasMore, int bytes) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.stockwatch.stockwatchpro.cache;
+
+public record EntityChange(Type type, String id, long version) {
+    public static final EntityChange ALL = new EntityChange(Type.ALL, "", 0);
+
+    public enum Type {
+        STOCK,
+        COMMENT_FEED,
+        PORTFOLIO,
+        USER_ALERTS,
+        PRICE_ALERT,
+        ALERT_TRIGGERS,
+        ALL
+    }
+
+    public String encode() {
+        return type.name() + ':' + version + ':' + id;
+    }
+
+    public static EntityChange decode(String value) {
+        String[] parts = value.split(":", 3);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Malformed entity change: " + value);
+        }
+        return new EntityChange(Type.valueOf(parts[0]), parts[2], Long.parseLong(parts[1]));
+    }
+}
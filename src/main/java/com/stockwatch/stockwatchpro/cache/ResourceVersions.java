@@ -0,0 +1,86 @@
+package com.stockwatch.stockwatchpro.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.stockwatch.stockwatchpro.dtos.StockDto;
+import com.stockwatch.stockwatchpro.services.StockChangeListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class ResourceVersions implements StockChangeListener {
+    private static final String CATALOG = "catalog";
+    private static final String ALERT_TRIGGERS = "alert-triggers";
+
+    private final String node = Long.toString(ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE), 36);
+    private final AtomicLong clock = new AtomicLong();
+    private final Cache<String, Long> globalVersions;
+    private final Cache<String, Long> portfolioVersions;
+    private final Cache<String, Long> alertVersions;
+
+    public ResourceVersions(@Value("${versions.users.max-size:100000}") long maxUsers,
+                            @Value("${versions.ttl-seconds:300}") long ttlSeconds) {
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        this.globalVersions = Caffeine.newBuilder().expireAfterWrite(ttl).build();
+        this.portfolioVersions = Caffeine.newBuilder().maximumSize(maxUsers).expireAfterWrite(ttl).build();
+        this.alertVersions = Caffeine.newBuilder().maximumSize(maxUsers).expireAfterWrite(ttl).build();
+    }
+
+    public String catalogVersion() {
+        return tag(globalVersions.get(CATALOG, key -> clock.incrementAndGet()));
+    }
+
+    public String portfolioVersion(String userId) {
+        return tag(portfolioVersions.get(userId, key -> clock.incrementAndGet()));
+    }
+
+    public String alertVersion(String userId) {
+        return tag(alertVersions.get(userId, key -> clock.incrementAndGet()));
+    }
+
+    public String alertTriggerVersion() {
+        return tag(globalVersions.get(ALERT_TRIGGERS, key -> clock.incrementAndGet()));
+    }
+
+    public void portfolioChanged(String userId) {
+        portfolioVersions.put(userId, clock.incrementAndGet());
+    }
+
+    public void alertsChanged(String userId) {
+        alertVersions.put(userId, clock.incrementAndGet());
+    }
+
+    public void alertsTriggered() {
+        globalVersions.put(ALERT_TRIGGERS, clock.incrementAndGet());
+    }
+
+    public void invalidateAll() {
+        globalVersions.invalidateAll();
+        portfolioVersions.invalidateAll();
+        alertVersions.invalidateAll();
+    }
+
+    @Override
+    public void onStockSaved(StockDto stock) {
+        globalVersions.put(CATALOG, clock.incrementAndGet());
+    }
+
+    @Override
+    public void onStockDeleted(Integer stockId) {
+        globalVersions.put(CATALOG, clock.incrementAndGet());
+    }
+
+    @Override
+    public void onCatalogReloaded(List<StockDto> stocks) {
+        globalVersions.put(CATALOG, clock.incrementAndGet());
+    }
+
+    private String tag(long version) {
+        return node + "." + version;
+    }
+}
@@ -0,0 +1,10 @@
+package com.stockwatch.stockwatchpro.cache;
+
+import com.stockwatch.stockwatchpro.dtos.CacheStatsDto;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.List;
+
+public interface StatsReportingCache extends MeterBinder {
+    List<CacheStatsDto> stats();
+}
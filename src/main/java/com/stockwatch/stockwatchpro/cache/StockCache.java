@@ -0,0 +1,146 @@
+package com.stockwatch.stockwatchpro.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.stockwatch.stockwatchpro.dtos.CacheStatsDto;
+import com.stockwatch.stockwatchpro.dtos.StockDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+@Component
+public class StockCache implements StatsReportingCache {
+    private final AsyncCache<Integer, StockDto> stocksById;
+    private final AsyncCache<String, Integer> idsBySymbol;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public StockCache(@Value("${cache.stocks.max-size:100000}") long maxSize,
+                      @Value("${cache.stocks.expire-after-write-seconds:600}") long expireAfterWriteSeconds) {
+        this.stocksById = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds))
+                .recordStats()
+                .buildAsync();
+        this.idsBySymbol = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds))
+                .recordStats()
+                .buildAsync();
+    }
+
+    public Optional<StockDto> getById(Integer id, Function<Integer, StockDto> loader) {
+        return Optional.ofNullable(getOrLoad(stocksById, id, loader));
+    }
+
+    public Optional<StockDto> getBySymbol(String symbol, Function<String, StockDto> loader) {
+        long generation = invalidations.get();
+        StockDto[] loaded = new StockDto[1];
+        Integer id = getOrLoad(idsBySymbol, symbol, key -> {
+            StockDto stock = loader.apply(key);
+            if (stock == null) {
+                return null;
+            }
+            if (invalidations.get() == generation) {
+                stocksById.asMap().putIfAbsent(stock.getId(), CompletableFuture.completedFuture(stock));
+            }
+            loaded[0] = stock;
+            return stock.getId();
+        });
+        if (loaded[0] != null) {
+            return Optional.of(loaded[0]);
+        }
+        if (id == null) {
+            return Optional.empty();
+        }
+        StockDto cached = stocksById.synchronous().getIfPresent(id);
+        if (cached != null && symbol.equals(cached.getSymbol())) {
+            return Optional.of(cached);
+        }
+        idsBySymbol.synchronous().invalidate(symbol);
+        return Optional.ofNullable(loader.apply(symbol));
+    }
+
+    private <K, V> V getOrLoad(AsyncCache<K, V> cache, K key, Function<K, V> loader) {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> future = cache.get(key, (ignored, executor) -> created);
+        if (future != created) {
+            return join(future);
+        }
+        long generation = invalidations.get();
+        V value;
+        try {
+            value = loader.apply(key);
+        } catch (RuntimeException | Error e) {
+            created.completeExceptionally(e);
+            throw e;
+        }
+        created.complete(value);
+        if (invalidations.get() != generation) {
+            cache.asMap().remove(key, created);
+        }
+        return value;
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public void invalidate(Integer id, String symbol) {
+        invalidations.incrementAndGet();
+        if (id != null) {
+            stocksById.synchronous().invalidate(id);
+        }
+        if (symbol != null) {
+            idsBySymbol.synchronous().invalidate(symbol);
+        }
+    }
+
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        stocksById.synchronous().invalidateAll();
+        idsBySymbol.synchronous().invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, stocksById, "stocks.byId");
+        CaffeineCacheMetrics.monitor(registry, idsBySymbol, "stocks.bySymbol");
+    }
+
+    @Override
+    public List<CacheStatsDto> stats() {
+        return List.of(toStatsDto("stocks.byId", stocksById.synchronous()),
+                toStatsDto("stocks.bySymbol", idsBySymbol.synchronous()));
+    }
+
+    private static CacheStatsDto toStatsDto(String name, Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        return CacheStatsDto.builder()
+                .name(name)
+                .size(cache.estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .loadCount(stats.loadCount())
+                .evictionCount(stats.evictionCount())
+                .build();
+    }
+}
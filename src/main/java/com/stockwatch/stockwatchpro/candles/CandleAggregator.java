@@ -0,0 +1,81 @@
+package com.stockwatch.stockwatchpro.candles;
+
+import com.stockwatch.stockwatchpro.marketdata.PriceTick;
+import com.stockwatch.stockwatchpro.marketdata.PriceTickListener;
+import com.stockwatch.stockwatchpro.models.Candle;
+import com.stockwatch.stockwatchpro.repositories.CandleRepository;
+import com.stockwatch.stockwatchpro.support.BatchFlusher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.stockwatch.stockwatchpro.history.TickHistoryStore.toUnits;
+
+@Component
+public class CandleAggregator implements PriceTickListener {
+    private final Map<Integer, CandleState> states = new ConcurrentHashMap<>();
+    private final Map<BarKey, Long> pending = new ConcurrentHashMap<>();
+    private final long writerEpoch = ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE);
+    private final CandleRepository candleRepository;
+    private final BatchFlusher<CandleContribution> closedBars;
+    private final Counter rejectedBars;
+
+    public CandleAggregator(CandleRepository candleRepository, MeterRegistry meterRegistry,
+                            @Value("${candles.writer.capacity:50000}") int capacity,
+                            @Value("${candles.writer.batch-size:500}") int batchSize,
+                            @Value("${candles.writer.flush-interval-ms:1000}") long flushIntervalMs) {
+        this.candleRepository = candleRepository;
+        this.closedBars = new BatchFlusher<>("candle-writer", capacity, batchSize, flushIntervalMs, this::write);
+        this.rejectedBars = Counter.builder("candles.bars.rejected")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void onPriceTick(PriceTick tick) {
+        states.computeIfAbsent(tick.stockId(), CandleState::new)
+                .update(tick.timestamp(), toUnits(tick.price()), tick.volume(), this::enqueue);
+    }
+
+    public Optional<Candle> currentBar(int stockId, Candle.Interval interval) {
+        CandleState state = states.get(stockId);
+        return state == null ? Optional.empty() : Optional.ofNullable(state.current(interval));
+    }
+
+    public boolean isPending(int stockId, Candle.Interval interval, long openTime) {
+        return pending.containsKey(new BarKey(stockId, interval, openTime));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        states.values().forEach(state -> state.drainOpenBars(this::enqueue));
+        closedBars.close();
+    }
+
+    private void enqueue(CandleContribution bar) {
+        BarKey key = BarKey.of(bar.candle());
+        pending.put(key, bar.sequence());
+        if (!closedBars.offer(bar)) {
+            pending.remove(key, bar.sequence());
+            rejectedBars.increment();
+        }
+    }
+
+    private void write(List<CandleContribution> bars) {
+        candleRepository.writeContributions(writerEpoch, bars);
+        bars.forEach(bar -> pending.remove(BarKey.of(bar.candle()), bar.sequence()));
+    }
+
+    private record BarKey(int stockId, Candle.Interval interval, long openTime) {
+        static BarKey of(Candle candle) {
+            return new BarKey(candle.getStockId(), candle.getInterval(), candle.getOpenTime());
+        }
+    }
+}
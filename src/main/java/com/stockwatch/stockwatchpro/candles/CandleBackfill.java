@@ -0,0 +1,169 @@
+package com.stockwatch.stockwatchpro.candles;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.stockwatch.stockwatchpro.dtos.CandleBackfillDto;
+import com.stockwatch.stockwatchpro.history.TickHistoryStore;
+import com.stockwatch.stockwatchpro.models.Candle;
+import com.stockwatch.stockwatchpro.repositories.CandleRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Slf4j
+@Component
+public class CandleBackfill {
+    private static final String RUNNING = "RUNNING";
+    private static final String COMPLETED = "COMPLETED";
+    private static final String FAILED = "FAILED";
+
+    private final TickHistoryStore tickHistoryStore;
+    private final CandleRepository candleRepository;
+    private final CandleAggregator candleAggregator;
+    private final int parallelism;
+    private final int batchSize;
+    private final long maxRangeMs;
+    private final Cache<String, CandleBackfillDto> jobs;
+    private final AtomicReference<String> running = new AtomicReference<>();
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "candle-backfill");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public CandleBackfill(TickHistoryStore tickHistoryStore, CandleRepository candleRepository, CandleAggregator candleAggregator,
+                          @Value("${candles.backfill.parallelism:0}") int parallelism,
+                          @Value("${candles.writer.batch-size:500}") int batchSize,
+                          @Value("${candles.backfill.max-range-hours:168}") long maxRangeHours,
+                          @Value("${candles.backfill.job-retention-minutes:60}") long jobRetentionMinutes) {
+        if (maxRangeHours <= 0) {
+            throw new IllegalStateException("candles.backfill.max-range-hours must be positive");
+        }
+        this.tickHistoryStore = tickHistoryStore;
+        this.candleRepository = candleRepository;
+        this.candleAggregator = candleAggregator;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.batchSize = batchSize;
+        this.maxRangeMs = Duration.ofHours(maxRangeHours).toMillis();
+        this.jobs = Caffeine.newBuilder().expireAfterWrite(Duration.ofMinutes(jobRetentionMinutes)).build();
+    }
+
+    public CandleBackfillDto submit(List<Integer> stockIds, Long from, Long to) {
+        long end = to != null ? to : System.currentTimeMillis();
+        long start = from != null ? from : end - maxRangeMs;
+        if (start < 0 || start > end) {
+            throw new IllegalArgumentException("Invalid backfill range");
+        }
+        if (end - start > maxRangeMs) {
+            throw new IllegalArgumentException("Backfill range exceeds " + maxRangeMs + " ms");
+        }
+        long scanFrom = Candle.Interval.ONE_DAY.bucketStart(start);
+        long scanTo = Candle.Interval.ONE_DAY.bucketStart(end) + Candle.Interval.ONE_DAY.getMillis() - 1;
+        String id = UUID.randomUUID().toString();
+        if (!running.compareAndSet(null, id)) {
+            throw new IllegalStateException("A candle backfill is already running");
+        }
+        CandleBackfillDto job = CandleBackfillDto.builder()
+                .id(id)
+                .status(RUNNING)
+                .stocks(stockIds.size())
+                .from(scanFrom)
+                .to(scanTo)
+                .build();
+        jobs.put(id, job);
+        try {
+            runner.execute(() -> run(job, stockIds, scanFrom, scanTo));
+        } catch (RuntimeException e) {
+            jobs.invalidate(id);
+            running.set(null);
+            throw e;
+        }
+        return job;
+    }
+
+    public Optional<CandleBackfillDto> status(String id) {
+        return Optional.ofNullable(jobs.getIfPresent(id));
+    }
+
+    @PreDestroy
+    void stop() {
+        runner.shutdownNow();
+    }
+
+    private void run(CandleBackfillDto job, List<Integer> stockIds, long from, long to) {
+        long started = System.currentTimeMillis();
+        CandleBackfillDto.CandleBackfillDtoBuilder result = job.toBuilder();
+        try {
+            result.status(COMPLETED).candles(rebuild(stockIds, from, to));
+        } catch (RuntimeException e) {
+            log.warn("Candle backfill {} failed", job.getId(), e);
+            result.status(FAILED).error(e.getMessage());
+        } finally {
+            jobs.put(job.getId(), result.durationMs(System.currentTimeMillis() - started).build());
+            running.set(null);
+        }
+    }
+
+    private long rebuild(Collection<Integer> stockIds, long from, long to) {
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(parallelism, Math.max(1, stockIds.size())));
+        try {
+            List<Future<Long>> results = new ArrayList<>(stockIds.size());
+            for (Integer stockId : stockIds) {
+                results.add(pool.submit(() -> rebuild(stockId, from, to)));
+            }
+            long total = 0;
+            for (Future<Long> result : results) {
+                total += result.get();
+            }
+            return total;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Candle backfill interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Candle backfill failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private long rebuild(int stockId, long from, long to) {
+        CandleState state = new CandleState(stockId);
+        List<Candle> buffer = new ArrayList<>(batchSize);
+        long[] written = new long[1];
+        tickHistoryStore.scan(stockId, from, to, (timestamp, priceUnits, volume) ->
+                state.update(timestamp, priceUnits, volume, bar -> {
+                    buffer.add(bar.candle());
+                    if (buffer.size() == batchSize) {
+                        written[0] += flush(buffer);
+                    }
+                }));
+        state.drainOpenBars(bar -> buffer.add(bar.candle()));
+        written[0] += flush(buffer);
+        return written[0];
+    }
+
+    private int flush(List<Candle> buffer) {
+        long now = System.currentTimeMillis();
+        buffer.removeIf(candle -> candle.getOpenTime() >= candle.getInterval().bucketStart(now)
+                || candleAggregator.isPending(candle.getStockId(), candle.getInterval(), candle.getOpenTime()));
+        int size = buffer.size();
+        if (size > 0) {
+            candleRepository.replaceAll(buffer);
+            buffer.clear();
+        }
+        return size;
+    }
+}
@@ -0,0 +1,6 @@
+package com.stockwatch.stockwatchpro.candles;
+
+import com.stockwatch.stockwatchpro.models.Candle;
+
+public record CandleContribution(Candle candle, long firstTickAt, long lastTickAt, long sequence) {
+}
@@ -0,0 +1,113 @@
+package com.stockwatch.stockwatchpro.candles;
+
+import com.stockwatch.stockwatchpro.history.TickHistoryStore;
+import com.stockwatch.stockwatchpro.models.Candle;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+final class CandleState {
+    private static final Candle.Interval[] INTERVALS = Candle.Interval.values();
+    private static final long NO_BAR = Long.MIN_VALUE;
+
+    private final int stockId;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final long[] openTime = new long[INTERVALS.length];
+    private final long[] open = new long[INTERVALS.length];
+    private final long[] high = new long[INTERVALS.length];
+    private final long[] low = new long[INTERVALS.length];
+    private final long[] close = new long[INTERVALS.length];
+    private final long[] volume = new long[INTERVALS.length];
+    private final long[] firstTick = new long[INTERVALS.length];
+    private final long[] lastTick = new long[INTERVALS.length];
+    private long lastTimestamp = Long.MIN_VALUE;
+    private long emitted;
+
+    CandleState(int stockId) {
+        this.stockId = stockId;
+        Arrays.fill(openTime, NO_BAR);
+    }
+
+    boolean update(long timestamp, long priceUnits, long tickVolume, Consumer<CandleContribution> onClose) {
+        lock.lock();
+        try {
+            if (INTERVALS[0].bucketStart(timestamp) < openTime[0]) {
+                return false;
+            }
+            boolean latest = timestamp >= lastTimestamp;
+            lastTimestamp = Math.max(lastTimestamp, timestamp);
+            for (int i = 0; i < INTERVALS.length; i++) {
+                long bucket = INTERVALS[i].bucketStart(timestamp);
+                if (bucket > openTime[i]) {
+                    if (openTime[i] != NO_BAR) {
+                        onClose.accept(toContribution(i));
+                    }
+                    openTime[i] = bucket;
+                    firstTick[i] = timestamp;
+                    lastTick[i] = timestamp;
+                    open[i] = priceUnits;
+                    high[i] = priceUnits;
+                    low[i] = priceUnits;
+                    close[i] = priceUnits;
+                    volume[i] = tickVolume;
+                } else {
+                    high[i] = Math.max(high[i], priceUnits);
+                    low[i] = Math.min(low[i], priceUnits);
+                    if (latest) {
+                        close[i] = priceUnits;
+                        lastTick[i] = timestamp;
+                    }
+                    volume[i] += tickVolume;
+                }
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    Candle current(Candle.Interval interval) {
+        lock.lock();
+        try {
+            return openTime[interval.ordinal()] == NO_BAR ? null : toCandle(interval.ordinal());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void drainOpenBars(Consumer<CandleContribution> sink) {
+        lock.lock();
+        try {
+            for (int i = 0; i < INTERVALS.length; i++) {
+                if (openTime[i] != NO_BAR) {
+                    sink.accept(toContribution(i));
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private CandleContribution toContribution(int index) {
+        return new CandleContribution(toCandle(index), firstTick[index], lastTick[index], ++emitted);
+    }
+
+    private Candle toCandle(int index) {
+        return Candle.builder()
+                .stockId(stockId)
+                .interval(INTERVALS[index])
+                .openTime(openTime[index])
+                .open(toPrice(open[index]))
+                .high(toPrice(high[index]))
+                .low(toPrice(low[index]))
+                .close(toPrice(close[index]))
+                .volume(volume[index])
+                .build();
+    }
+
+    private static BigDecimal toPrice(long units) {
+        return BigDecimal.valueOf(units, TickHistoryStore.PRICE_SCALE);
+    }
+}
@@ -0,0 +1,420 @@
+package com.stockwatch.stockwatchpro.catalog;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stockwatch.stockwatchpro.dtos.CreateStockRequestDto;
+import com.stockwatch.stockwatchpro.dtos.StockImportResultDto;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntConsumer;
+
+@Component
+public class StockCatalogImporter {
+    private static final Logger log = LoggerFactory.getLogger(StockCatalogImporter.class);
+
+    private static final int MAX_COMPANY_NAME_LENGTH = 255;
+    private static final int MAX_INDUSTRY_LENGTH = 100;
+    private static final int MAX_INTEGER_DIGITS = 16;
+
+    private static final String CREATE_STAGING_SQL =
+            "CREATE TEMP TABLE stock_import (" +
+            "line_no bigint NOT NULL, symbol text NOT NULL, company_name text NOT NULL, " +
+            "purchase numeric NOT NULL, last_div numeric NOT NULL, industry text, market_cap bigint" +
+            ") ON COMMIT DROP";
+    private static final String COPY_SQL =
+            "COPY stock_import (line_no, symbol, company_name, purchase, last_div, industry, market_cap) FROM STDIN";
+    private static final String DISTINCT_SYMBOLS_SQL = "SELECT count(DISTINCT symbol) FROM stock_import";
+    private static final String MERGE_SQL =
+            "WITH latest AS (" +
+            "SELECT DISTINCT ON (symbol) symbol, company_name, purchase, last_div, industry, market_cap " +
+            "FROM stock_import ORDER BY symbol, line_no DESC" +
+            ") " +
+            "INSERT INTO stocks (symbol, company_name, purchase, last_div, industry, market_cap) " +
+            "SELECT symbol, company_name, purchase, last_div, industry, market_cap FROM latest " +
+            "ON CONFLICT (symbol) DO UPDATE SET " +
+            "company_name = EXCLUDED.company_name, purchase = EXCLUDED.purchase, last_div = EXCLUDED.last_div, " +
+            "industry = EXCLUDED.industry, market_cap = EXCLUDED.market_cap, version = stocks.version + 1 " +
+            "WHERE (stocks.company_name, stocks.purchase, stocks.last_div, stocks.industry, stocks.market_cap) " +
+            "IS DISTINCT FROM (EXCLUDED.company_name, EXCLUDED.purchase, EXCLUDED.last_div, EXCLUDED.industry, EXCLUDED.market_cap) " +
+            "RETURNING id, xmax = 0 AS inserted";
+
+    private static final Map<String, String> CSV_COLUMNS = Map.of(
+            "symbol", "symbol",
+            "companyname", "companyName",
+            "purchase", "purchase",
+            "lastdiv", "lastDiv",
+            "industry", "industry",
+            "marketcap", "marketCap");
+    private static final Set<String> REQUIRED_CSV_COLUMNS = Set.of("symbol", "companyName", "purchase", "lastDiv");
+
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int copyBufferSize;
+    private final int mergeFetchSize;
+    private final int maxReportedErrors;
+
+    public StockCatalogImporter(DataSource dataSource, ObjectMapper objectMapper, Validator validator,
+                                @Value("${stocks.import.copy-buffer-size:65536}") int copyBufferSize,
+                                @Value("${stocks.stream.fetch-size:500}") int mergeFetchSize,
+                                @Value("${stocks.import.max-reported-errors:100}") int maxReportedErrors) {
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.copyBufferSize = copyBufferSize;
+        this.mergeFetchSize = mergeFetchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public StockImportResultDto importStocks(InputStream body, StockImportFormat format, IntConsumer changed) {
+        long started = System.nanoTime();
+        Reader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        RowSource rows = format == StockImportFormat.CSV ? new CsvRowSource(reader) : new NdjsonRowSource(reader);
+        ImportStats stats = new ImportStats();
+
+        Path spool = null;
+        try {
+            spool = Files.createTempFile("stock-import-", ".copy");
+            spoolRows(rows, spool, stats);
+            load(spool, stats, changed);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Stock import failed", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read stock import body", e);
+        } finally {
+            deleteSpool(spool);
+        }
+
+        long durationMs = (System.nanoTime() - started) / 1_000_000;
+        log.info("Imported stock catalog ({}): {} received, {} inserted, {} updated, {} unchanged, {} duplicates, {} rejected in {} ms",
+                format, stats.received, stats.inserted, stats.updated, stats.unchanged, stats.duplicates, stats.rejected, durationMs);
+        return StockImportResultDto.builder()
+                .received(stats.received)
+                .inserted(stats.inserted)
+                .updated(stats.updated)
+                .unchanged(stats.unchanged)
+                .duplicates(stats.duplicates)
+                .rejected(stats.rejected)
+                .errors(stats.errors)
+                .durationMs(durationMs)
+                .build();
+    }
+
+    private void spoolRows(RowSource rows, Path spool, ImportStats stats) throws IOException {
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(spool), StandardCharsets.UTF_8), copyBufferSize)) {
+            ParsedRow row;
+            while ((row = rows.next()) != null) {
+                stats.received++;
+                String error = row.error() != null ? row.error() : validate(row.stock());
+                if (error != null) {
+                    stats.reject(row.rowNumber(), error, maxReportedErrors);
+                    continue;
+                }
+                writeCopyRow(writer, row.rowNumber(), row.stock());
+                stats.staged++;
+            }
+        }
+    }
+
+    private void load(Path spool, ImportStats stats, IntConsumer changed) throws SQLException, IOException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute(CREATE_STAGING_SQL);
+                }
+                try (InputStream in = Files.newInputStream(spool)) {
+                    connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL, in, copyBufferSize);
+                }
+                long distinctSymbols = countDistinctSymbols(connection);
+                merge(connection, stats, changed);
+                stats.duplicates = stats.staged - distinctSymbols;
+                stats.unchanged = distinctSymbols - stats.inserted - stats.updated;
+                connection.commit();
+            } catch (SQLException | IOException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+    }
+
+    private static void deleteSpool(Path spool) {
+        if (spool == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(spool);
+        } catch (IOException e) {
+            log.warn("Failed to delete stock import spool {}", spool, e);
+        }
+    }
+
+    private long countDistinctSymbols(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(DISTINCT_SYMBOLS_SQL)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private void merge(Connection connection, ImportStats stats, IntConsumer changed) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(MERGE_SQL)) {
+            statement.setFetchSize(mergeFetchSize);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    if (rs.getBoolean("inserted")) {
+                        stats.inserted++;
+                    } else {
+                        stats.updated++;
+                    }
+                    changed.accept(rs.getInt("id"));
+                }
+            }
+        }
+    }
+
+    private String validate(CreateStockRequestDto stock) {
+        Set<ConstraintViolation<CreateStockRequestDto>> violations = validator.validate(stock);
+        if (!violations.isEmpty()) {
+            return violations.iterator().next().getMessage();
+        }
+        if (stock.getCompanyName().length() > MAX_COMPANY_NAME_LENGTH) {
+            return "Company name must be at most " + MAX_COMPANY_NAME_LENGTH + " characters";
+        }
+        if (stock.getIndustry() != null && stock.getIndustry().length() > MAX_INDUSTRY_LENGTH) {
+            return "Industry must be at most " + MAX_INDUSTRY_LENGTH + " characters";
+        }
+        if (integerDigits(stock.getPurchase()) > MAX_INTEGER_DIGITS || integerDigits(stock.getLastDiv()) > MAX_INTEGER_DIGITS) {
+            return "Price must have at most " + MAX_INTEGER_DIGITS + " integer digits";
+        }
+        return null;
+    }
+
+    private static int integerDigits(BigDecimal value) {
+        return value.precision() - value.scale();
+    }
+
+    private static void writeCopyRow(Writer writer, long rowNumber, CreateStockRequestDto stock) throws IOException {
+        writer.write(Long.toString(rowNumber));
+        writeCopyField(writer, stock.getSymbol());
+        writeCopyField(writer, stock.getCompanyName());
+        writeCopyField(writer, stock.getPurchase().toPlainString());
+        writeCopyField(writer, stock.getLastDiv().toPlainString());
+        writeCopyField(writer, stock.getIndustry());
+        writeCopyField(writer, stock.getMarketCap() == null ? null : stock.getMarketCap().toString());
+        writer.write('\n');
+    }
+
+    private static void writeCopyField(Writer writer, String value) throws IOException {
+        writer.write('\t');
+        if (value == null) {
+            writer.write("\\N");
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> writer.write("\\\\");
+                case '\t' -> writer.write("\\t");
+                case '\n' -> writer.write("\\n");
+                case '\r' -> writer.write("\\r");
+                default -> writer.write(c);
+            }
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private record ParsedRow(long rowNumber, CreateStockRequestDto stock, String error) {
+    }
+
+    private interface RowSource {
+        ParsedRow next() throws IOException;
+    }
+
+    private static final class CsvRowSource implements RowSource {
+        private final Reader reader;
+        private Map<String, Integer> columns;
+        private long rowNumber;
+
+        CsvRowSource(Reader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public ParsedRow next() throws IOException {
+            if (columns == null) {
+                columns = readHeader();
+            }
+            List<String> record;
+            do {
+                record = readRecord();
+                if (record == null) {
+                    return null;
+                }
+            } while (record.size() == 1 && record.get(0).isBlank());
+            rowNumber++;
+
+            try {
+                CreateStockRequestDto stock = CreateStockRequestDto.builder()
+                        .symbol(blankToNull(field(record, "symbol")))
+                        .companyName(blankToNull(field(record, "companyName")))
+                        .purchase(decimal(field(record, "purchase")))
+                        .lastDiv(decimal(field(record, "lastDiv")))
+                        .industry(blankToNull(field(record, "industry")))
+                        .marketCap(blankToNull(field(record, "marketCap")) == null ? null : Long.parseLong(field(record, "marketCap").trim()))
+                        .build();
+                return new ParsedRow(rowNumber, stock, null);
+            } catch (NumberFormatException e) {
+                return new ParsedRow(rowNumber, null, "Invalid number");
+            }
+        }
+
+        private Map<String, Integer> readHeader() throws IOException {
+            List<String> header = readRecord();
+            if (header == null) {
+                throw new IllegalArgumentException("CSV header row is required");
+            }
+            Map<String, Integer> mapping = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                String key = header.get(i).trim().toLowerCase(Locale.ROOT).replace("_", "").replace(" ", "");
+                String column = CSV_COLUMNS.get(key);
+                if (column != null) {
+                    mapping.put(column, i);
+                }
+            }
+            if (!mapping.keySet().containsAll(REQUIRED_CSV_COLUMNS)) {
+                throw new IllegalArgumentException("CSV header must include " + REQUIRED_CSV_COLUMNS);
+            }
+            return mapping;
+        }
+
+        private String field(List<String> record, String column) {
+            Integer index = columns.get(column);
+            return index == null || index >= record.size() ? null : record.get(index);
+        }
+
+        private static BigDecimal decimal(String value) {
+            String trimmed = blankToNull(value);
+            return trimmed == null ? null : new BigDecimal(trimmed);
+        }
+
+        private List<String> readRecord() throws IOException {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+            while (c != -1) {
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        int next = reader.read();
+                        if (next == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            if (next != -1) {
+                                reader.reset();
+                            }
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    break;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+                c = reader.read();
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+
+    private final class NdjsonRowSource implements RowSource {
+        private final BufferedReader reader;
+        private long rowNumber;
+
+        NdjsonRowSource(Reader reader) {
+            this.reader = (BufferedReader) reader;
+        }
+
+        @Override
+        public ParsedRow next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+            } while (line.isBlank());
+            rowNumber++;
+
+            try {
+                return new ParsedRow(rowNumber, objectMapper.readValue(line, CreateStockRequestDto.class), null);
+            } catch (JsonProcessingException e) {
+                return new ParsedRow(rowNumber, null, "Invalid JSON");
+            }
+        }
+    }
+
+    private static final class ImportStats {
+        private final List<String> errors = new ArrayList<>();
+        private long received;
+        private long staged;
+        private long inserted;
+        private long updated;
+        private long unchanged;
+        private long duplicates;
+        private long rejected;
+
+        void reject(long rowNumber, String error, int maxReportedErrors) {
+            rejected++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add("Row " + rowNumber + ": " + error);
+            }
+        }
+    }
+}
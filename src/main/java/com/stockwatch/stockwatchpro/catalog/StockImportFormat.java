@@ -0,0 +1,31 @@
+package com.stockwatch.stockwatchpro.catalog;
+
+import org.springframework.http.MediaType;
+
+public enum StockImportFormat {
+    CSV(MediaType.parseMediaType("text/csv")),
+    NDJSON(MediaType.APPLICATION_NDJSON);
+
+    private final MediaType mediaType;
+
+    StockImportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public static StockImportFormat fromContentType(String contentType) {
+        if (contentType == null) {
+            throw new IllegalArgumentException("Content-Type is required");
+        }
+        MediaType requested = MediaType.parseMediaType(contentType);
+        for (StockImportFormat format : values()) {
+            if (format.mediaType.isCompatibleWith(requested)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported import format: " + contentType);
+    }
+}
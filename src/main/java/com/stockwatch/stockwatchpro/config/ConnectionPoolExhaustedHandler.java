@@ -0,0 +1,37 @@
+package com.stockwatch.stockwatchpro.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.sql.SQLTransientConnectionException;
+
+@RestControllerAdvice
+public class ConnectionPoolExhaustedHandler {
+    private static final Logger log = LoggerFactory.getLogger(ConnectionPoolExhaustedHandler.class);
+
+    private final long retryAfterSeconds;
+
+    public ConnectionPoolExhaustedHandler(@Value("${database.pool.retry-after-seconds:1}") long retryAfterSeconds) {
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @ExceptionHandler({CannotCreateTransactionException.class, CannotGetJdbcConnectionException.class})
+    public ResponseEntity<Void> handleConnectionUnavailable(RuntimeException e) {
+        if (!(NestedExceptionUtils.getMostSpecificCause(e) instanceof SQLTransientConnectionException)) {
+            throw e;
+        }
+        log.warn("Connection pool exhausted, shedding request: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds))
+                .build();
+    }
+}
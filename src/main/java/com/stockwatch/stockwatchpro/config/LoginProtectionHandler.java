@@ -0,0 +1,39 @@
+package com.stockwatch.stockwatchpro.config;
+
+import com.stockwatch.stockwatchpro.security.LoginThrottledException;
+import com.stockwatch.stockwatchpro.security.PasswordHashingRejectedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice
+public class LoginProtectionHandler {
+    private static final Logger log = LoggerFactory.getLogger(LoginProtectionHandler.class);
+
+    private final long retryAfterSeconds;
+
+    public LoginProtectionHandler(@Value("${security.bcrypt.retry-after-seconds:1}") long retryAfterSeconds) {
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @ExceptionHandler(PasswordHashingRejectedException.class)
+    public ResponseEntity<Void> handleHashingRejected(PasswordHashingRejectedException e) {
+        log.warn("Shedding password hashing request: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds))
+                .build();
+    }
+
+    @ExceptionHandler(LoginThrottledException.class)
+    public ResponseEntity<Void> handleThrottled(LoginThrottledException e) {
+        log.debug("Throttling login: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(e.getRetryAfterSeconds()))
+                .build();
+    }
+}
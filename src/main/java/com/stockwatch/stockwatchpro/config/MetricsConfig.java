@@ -0,0 +1,21 @@
+package com.stockwatch.stockwatchpro.config;
+
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+    private static final String REPOSITORY_METRIC = "spring.data.repository.invocations";
+
+    @Bean
+    public MeterFilter repositoryMethodTagLimit(@Value("${metrics.repository.max-method-tags:200}") int maxMethodTags) {
+        return MeterFilter.maximumAllowableTags(REPOSITORY_METRIC, "method", maxMethodTags, MeterFilter.deny());
+    }
+
+    @Bean
+    public MeterFilter exceptionTagLimit(@Value("${metrics.max-exception-tags:50}") int maxExceptionTags) {
+        return MeterFilter.maximumAllowableTags("", "exception", maxExceptionTags, MeterFilter.deny());
+    }
+}
@@ -4,8 +4,10 @@ import com.stockwatch.stockwatchpro.dtos.LoginDto;
 import com.stockwatch.stockwatchpro.dtos.RegisterDto;
 import com.stockwatch.stockwatchpro.dtos.CredentialTokenDto;
 import com.stockwatch.stockwatchpro.models.AppUser;
+import com.stockwatch.stockwatchpro.security.LoginAttemptThrottle;
 import com.stockwatch.stockwatchpro.services.AppUserService;
 import com.stockwatch.stockwatchpro.services.TokenService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -17,31 +19,41 @@ import org.springframework.web.bind.annotation.*;
 public class AccountController {
     private final AppUserService appUserService;
     private final TokenService tokenService;
+    private final LoginAttemptThrottle loginAttemptThrottle;
 
-    public AccountController(AppUserService appUserService, TokenService tokenService) {
+    public AccountController(AppUserService appUserService, TokenService tokenService, LoginAttemptThrottle loginAttemptThrottle) {
         this.appUserService = appUserService;
         this.tokenService = tokenService;
+        this.loginAttemptThrottle = loginAttemptThrottle;
     }
 
     @PostMapping("/register")
-    public ResponseEntity<CredentialTokenDto> register(@Valid @RequestBody RegisterDto registerDto) {
+    public ResponseEntity<CredentialTokenDto> register(@Valid @RequestBody RegisterDto registerDto, HttpServletRequest request) {
+        loginAttemptThrottle.acquire(request.getRemoteAddr(), null);
         try {
             AppUser appUser = appUserService.registerUser(registerDto);
             CredentialTokenDto token = tokenService.createToken(appUser);
             return ResponseEntity.status(HttpStatus.CREATED).body(token);
         } catch (IllegalArgumentException e) {
+            loginAttemptThrottle.recordFailure(request.getRemoteAddr(), null);
             return ResponseEntity.badRequest().build();
         }
     }
 
     @PostMapping("/login")
-    public ResponseEntity<CredentialTokenDto> login(@Valid @RequestBody LoginDto loginDto) {
+    public ResponseEntity<CredentialTokenDto> login(@Valid @RequestBody LoginDto loginDto, HttpServletRequest request) {
+        loginAttemptThrottle.acquire(request.getRemoteAddr(), loginDto.getEmail());
         AppUser appUser = appUserService.findByEmail(loginDto.getEmail())
-                .orElseThrow(() -> new IllegalArgumentException("Invalid email"));
+                .orElseThrow(() -> {
+                    loginAttemptThrottle.recordFailure(request.getRemoteAddr(), loginDto.getEmail());
+                    return new IllegalArgumentException("Invalid email");
+                });
 
         if (!appUserService.validatePassword(loginDto.getPassword(), appUser.getPassword())) {
+            loginAttemptThrottle.recordFailure(request.getRemoteAddr(), loginDto.getEmail());
             throw new IllegalArgumentException("Invalid password");
         }
+        loginAttemptThrottle.recordSuccess(loginDto.getEmail());
 
         CredentialTokenDto token = tokenService.createToken(appUser);
         return ResponseEntity.ok(token);
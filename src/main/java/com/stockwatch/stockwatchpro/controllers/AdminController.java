@@ -0,0 +1,29 @@
+package com.stockwatch.stockwatchpro.controllers;
+
+import com.stockwatch.stockwatchpro.cache.StatsReportingCache;
+import com.stockwatch.stockwatchpro.dtos.CacheStatsDto;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/admin")
+@CrossOrigin(origins = "*")
+public class AdminController {
+    private final List<StatsReportingCache> caches;
+
+    public AdminController(List<StatsReportingCache> caches) {
+        this.caches = caches;
+    }
+
+    @GetMapping("/caches")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<CacheStatsDto>> getCacheStats() {
+        List<CacheStatsDto> stats = caches.stream()
+                .flatMap(cache -> cache.stats().stream())
+                .toList();
+        return ResponseEntity.ok(stats);
+    }
+}
@@ -0,0 +1,62 @@
+package com.stockwatch.stockwatchpro.controllers;
+
+import com.stockwatch.stockwatchpro.dtos.CandleBackfillDto;
+import com.stockwatch.stockwatchpro.dtos.CandleDto;
+import com.stockwatch.stockwatchpro.services.CandleService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/stock")
+@CrossOrigin(origins = "*")
+public class CandleController {
+    private final CandleService candleService;
+
+    public CandleController(CandleService candleService) {
+        this.candleService = candleService;
+    }
+
+    @GetMapping("/{id}/candles")
+    public ResponseEntity<List<CandleDto>> getCandles(
+            @PathVariable Integer id,
+            @RequestParam(defaultValue = "1m") String interval,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to,
+            @RequestParam(defaultValue = "500") int limit) {
+        try {
+            List<CandleDto> candles = candleService.getCandles(id, interval, from, to, limit);
+            return ResponseEntity.ok(candles);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @PostMapping("/candles/backfill")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CandleBackfillDto> backfillCandles(
+            @RequestParam(required = false) List<Integer> stockIds,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to) {
+        try {
+            CandleBackfillDto job = candleService.backfill(stockIds, from, to);
+            return ResponseEntity.accepted().location(ServletUriComponentsBuilder.fromCurrentRequest().path("/{jobId}").buildAndExpand(job.getId()).toUri()).body(job);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    @GetMapping("/candles/backfill/{jobId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CandleBackfillDto> getBackfill(@PathVariable String jobId) {
+        return candleService.getBackfill(jobId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
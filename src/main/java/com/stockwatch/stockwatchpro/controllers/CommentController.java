@@ -1,6 +1,7 @@
 package com.stockwatch.stockwatchpro.controllers;
 
 import com.stockwatch.stockwatchpro.dtos.CommentDto;
+import com.stockwatch.stockwatchpro.dtos.CommentPageDto;
 import com.stockwatch.stockwatchpro.services.CommentService;
 import jakarta.validation.constraints.NotBlank;
 import org.springframework.http.HttpStatus;
@@ -45,10 +46,26 @@ public class CommentController {
     }
 
     @GetMapping("/stock/{stockId}")
-    public ResponseEntity<List<CommentDto>> getCommentsByStockId(@PathVariable Integer stockId) {
+    public ResponseEntity<List<CommentDto>> getCommentsByStockId(
+            @PathVariable Integer stockId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
         try {
-            List<CommentDto> comments = commentService.getCommentsByStockId(stockId);
-            return ResponseEntity.ok(comments);
+            CommentPageDto page = commentService.getCommentsByStockId(stockId, cursor, limit);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.getNextCursor() != null) {
+                response.header(StockController.NEXT_CURSOR_HEADER, page.getNextCursor());
+            }
+            return response.body(page.getItems());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @GetMapping("/stock/{stockId}/count")
+    public ResponseEntity<Long> getCommentCount(@PathVariable Integer stockId) {
+        try {
+            return ResponseEntity.ok(commentService.getCommentCount(stockId));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
         }
@@ -1,9 +1,14 @@
 package com.stockwatch.stockwatchpro.controllers;
 
+import com.stockwatch.stockwatchpro.dtos.BulkPortfolioRequestDto;
+import com.stockwatch.stockwatchpro.dtos.BulkPortfolioResultDto;
 import com.stockwatch.stockwatchpro.dtos.CreatePortfolioDto;
+import com.stockwatch.stockwatchpro.dtos.PortfolioValuationDto;
 import com.stockwatch.stockwatchpro.models.Portfolio;
 import com.stockwatch.stockwatchpro.services.PortfolioService;
+import com.stockwatch.stockwatchpro.support.ETags;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -38,12 +43,47 @@ public class PortfolioController {
         }
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkPortfolioResultDto> addStocksToPortfolio(@Valid @RequestBody BulkPortfolioRequestDto bulkPortfolioRequestDto) {
+        try {
+            BulkPortfolioResultDto result = portfolioService.addStocksToPortfolio(getCurrentUserId(), bulkPortfolioRequestDto.getStockIds());
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @DeleteMapping("/bulk")
+    public ResponseEntity<BulkPortfolioResultDto> removeStocksFromPortfolio(@Valid @RequestBody BulkPortfolioRequestDto bulkPortfolioRequestDto) {
+        try {
+            BulkPortfolioResultDto result = portfolioService.removeStocksFromPortfolio(getCurrentUserId(), bulkPortfolioRequestDto.getStockIds());
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping
-    public ResponseEntity<List<Portfolio>> getUserPortfolio() {
+    public ResponseEntity<List<Portfolio>> getUserPortfolio(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
             String userId = getCurrentUserId();
+            String etag = ETags.of("portfolio", portfolioService.getPortfolioVersion(userId));
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
             List<Portfolio> portfolio = portfolioService.getUserPortfolio(userId);
-            return ResponseEntity.ok(portfolio);
+            return ResponseEntity.ok().eTag(etag).body(portfolio);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @GetMapping("/valuation")
+    public ResponseEntity<PortfolioValuationDto> getPortfolioValuation() {
+        try {
+            PortfolioValuationDto valuation = portfolioService.getPortfolioValuation(getCurrentUserId());
+            return ResponseEntity.ok(valuation);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
         }
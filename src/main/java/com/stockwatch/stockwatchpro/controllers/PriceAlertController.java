@@ -3,7 +3,9 @@ package com.stockwatch.stockwatchpro.controllers;
 import com.stockwatch.stockwatchpro.dtos.CreatePriceAlertDto;
 import com.stockwatch.stockwatchpro.dtos.PriceAlertDto;
 import com.stockwatch.stockwatchpro.services.PriceAlertService;
+import com.stockwatch.stockwatchpro.support.ETags;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -49,22 +51,32 @@ public class PriceAlertController {
     }
 
     @GetMapping("/user/active")
-    public ResponseEntity<List<PriceAlertDto>> getUserActiveAlerts() {
+    public ResponseEntity<List<PriceAlertDto>> getUserActiveAlerts(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
             String userId = getCurrentUserId();
+            String etag = ETags.of("alerts-active", priceAlertService.getUserAlertsVersion(userId));
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
             List<PriceAlertDto> alerts = priceAlertService.getUserActiveAlerts(userId);
-            return ResponseEntity.ok(alerts);
+            return ResponseEntity.ok().eTag(etag).body(alerts);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
         }
     }
 
     @GetMapping("/user/all")
-    public ResponseEntity<List<PriceAlertDto>> getUserAllAlerts() {
+    public ResponseEntity<List<PriceAlertDto>> getUserAllAlerts(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
             String userId = getCurrentUserId();
+            String etag = ETags.of("alerts-all", priceAlertService.getUserAlertsVersion(userId));
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
             List<PriceAlertDto> alerts = priceAlertService.getUserAllAlerts(userId);
-            return ResponseEntity.ok(alerts);
+            return ResponseEntity.ok().eTag(etag).body(alerts);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
         }
@@ -0,0 +1,40 @@
+package com.stockwatch.stockwatchpro.controllers;
+
+import com.stockwatch.stockwatchpro.services.PriceStreamService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/prices")
+@CrossOrigin(origins = "*")
+public class PriceStreamController {
+    private final PriceStreamService priceStreamService;
+
+    public PriceStreamController(PriceStreamService priceStreamService) {
+        this.priceStreamService = priceStreamService;
+    }
+
+    private String getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : null;
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamPrices(@RequestParam(required = false) List<Integer> stockIds) {
+        try {
+            SseEmitter emitter = priceStreamService.subscribe(getCurrentUserId(), stockIds);
+            return ResponseEntity.ok(emitter);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+}
@@ -1,25 +1,43 @@
 package com.stockwatch.stockwatchpro.controllers;
 
 import com.stockwatch.stockwatchpro.dtos.CreateStockRequestDto;
+import com.stockwatch.stockwatchpro.dtos.PriceUpdateDto;
 import com.stockwatch.stockwatchpro.dtos.StockDto;
+import com.stockwatch.stockwatchpro.dtos.StockImportResultDto;
+import com.stockwatch.stockwatchpro.dtos.StockPageDto;
 import com.stockwatch.stockwatchpro.dtos.UpdateStockRequestDto;
+import com.stockwatch.stockwatchpro.services.PriceHistoryService;
+import com.stockwatch.stockwatchpro.services.StockImportService;
 import com.stockwatch.stockwatchpro.services.StockService;
+import com.stockwatch.stockwatchpro.support.ETags;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
 @RequestMapping("/stock")
 @CrossOrigin(origins = "*")
 public class StockController {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final StockService stockService;
+    private final PriceHistoryService priceHistoryService;
+    private final StockImportService stockImportService;
 
-    public StockController(StockService stockService) {
+    public StockController(StockService stockService, PriceHistoryService priceHistoryService, StockImportService stockImportService) {
         this.stockService = stockService;
+        this.priceHistoryService = priceHistoryService;
+        this.stockImportService = stockImportService;
     }
 
     @PostMapping
@@ -33,50 +51,153 @@ public class StockController {
         }
     }
 
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StockImportResultDto> importStocks(HttpServletRequest request) throws IOException {
+        try {
+            StockImportResultDto result = stockImportService.importStocks(request.getInputStream(), request.getContentType());
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<StockDto> getStockById(@PathVariable Integer id) {
+    public ResponseEntity<StockDto> getStockById(@PathVariable Integer id,
+                                                 @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
             StockDto stock = stockService.getStockById(id);
-            return ResponseEntity.ok(stock);
+            return stockResponse(stock, ifNoneMatch);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
         }
     }
 
     @GetMapping("/symbol/{symbol}")
-    public ResponseEntity<StockDto> getStockBySymbol(@PathVariable String symbol) {
+    public ResponseEntity<StockDto> getStockBySymbol(@PathVariable String symbol,
+                                                     @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
             StockDto stock = stockService.getStockBySymbol(symbol);
-            return ResponseEntity.ok(stock);
+            return stockResponse(stock, ifNoneMatch);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
         }
     }
 
     @GetMapping
-    public ResponseEntity<List<StockDto>> getAllStocks() {
-        List<StockDto> stocks = stockService.getAllStocks();
-        return ResponseEntity.ok(stocks);
+    public ResponseEntity<List<StockDto>> getAllStocks(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        try {
+            String etag = ETags.of("catalog", stockService.getCatalogVersion());
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+            StockPageDto page = stockService.getStocksPage(null, sort, cursor, limit);
+            return pageResponse(page, etag);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamAllStocks() {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(stockService.streamStocks(null));
     }
 
     @GetMapping("/industry/{industry}")
-    public ResponseEntity<List<StockDto>> getStocksByIndustry(@PathVariable String industry) {
-        List<StockDto> stocks = stockService.getStocksByIndustry(industry);
-        return ResponseEntity.ok(stocks);
+    public ResponseEntity<List<StockDto>> getStocksByIndustry(
+            @PathVariable String industry,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        try {
+            String etag = ETags.of("catalog", stockService.getCatalogVersion());
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+            StockPageDto page = stockService.getStocksPage(industry, sort, cursor, limit);
+            return pageResponse(page, etag);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/industry/{industry}/stream")
+    public ResponseEntity<StreamingResponseBody> streamStocksByIndustry(@PathVariable String industry) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(stockService.streamStocks(industry));
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<StockDto>> searchByCompanyName(@RequestParam String companyName) {
-        List<StockDto> stocks = stockService.searchByCompanyName(companyName);
-        return ResponseEntity.ok(stocks);
+    public ResponseEntity<List<StockDto>> searchByCompanyName(
+            @RequestParam String companyName,
+            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            List<StockDto> stocks = stockService.searchByCompanyName(companyName, limit);
+            return ResponseEntity.ok(stocks);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<StockDto>> autocomplete(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            List<StockDto> stocks = stockService.autocomplete(q, limit);
+            return ResponseEntity.ok(stocks);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<StockDto> updateStock(@PathVariable Integer id, @Valid @RequestBody UpdateStockRequestDto updateStockRequestDto) {
+    public ResponseEntity<StockDto> updateStock(@PathVariable Integer id, @Valid @RequestBody UpdateStockRequestDto updateStockRequestDto,
+                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion;
+        try {
+            expectedVersion = ETags.parseVersion(ifMatch, "stock", id);
+            if (expectedVersion != null) {
+                updateStockRequestDto.setVersion(expectedVersion);
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
         try {
             StockDto stock = stockService.updateStock(id, updateStockRequestDto);
-            return ResponseEntity.ok(stock);
+            return ResponseEntity.ok().eTag(ETags.of("stock", stock.getId(), stock.getVersion())).body(stock);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(expectedVersion != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT).build();
+        }
+    }
+
+    @PostMapping("/{id}/price")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> publishPrice(@PathVariable Integer id, @Valid @RequestBody PriceUpdateDto priceUpdateDto) {
+        try {
+            stockService.publishPrice(id, priceUpdateDto);
+            return ResponseEntity.accepted().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @GetMapping("/{id}/history")
+    public ResponseEntity<StreamingResponseBody> getStockHistory(
+            @PathVariable Integer id,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to,
+            @RequestParam(defaultValue = "1000") int limit) {
+        try {
+            StreamingResponseBody history = priceHistoryService.streamHistory(id, from, to, limit);
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(history);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
         }
@@ -92,4 +213,20 @@ public class StockController {
             return ResponseEntity.notFound().build();
         }
     }
+
+    private ResponseEntity<StockDto> stockResponse(StockDto stock, String ifNoneMatch) {
+        String etag = ETags.of("stock", stock.getId(), stock.getVersion());
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(stock);
+    }
+
+    private ResponseEntity<List<StockDto>> pageResponse(StockPageDto page, String etag) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(etag);
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
 }
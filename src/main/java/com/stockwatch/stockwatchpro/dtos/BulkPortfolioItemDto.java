@@ -0,0 +1,15 @@
+package com.stockwatch.stockwatchpro.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkPortfolioItemDto {
+    private Integer stockId;
+    private String status;
+}
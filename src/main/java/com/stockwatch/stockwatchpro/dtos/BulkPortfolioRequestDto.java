@@ -0,0 +1,19 @@
+package com.stockwatch.stockwatchpro.dtos;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkPortfolioRequestDto {
+    @NotEmpty(message = "Stock IDs are required")
+    private List<@NotNull(message = "Stock ID is required") Integer> stockIds;
+}
@@ -0,0 +1,18 @@
+package com.stockwatch.stockwatchpro.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkPortfolioResultDto {
+    private Integer requested;
+    private Integer applied;
+    private List<BulkPortfolioItemDto> items;
+}
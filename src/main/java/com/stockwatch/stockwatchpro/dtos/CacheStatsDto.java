@@ -0,0 +1,21 @@
+package com.stockwatch.stockwatchpro.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CacheStatsDto {
+    private String name;
+    private Long size;
+    private Long weightedSize;
+    private Long hitCount;
+    private Long missCount;
+    private Double hitRate;
+    private Long loadCount;
+    private Long evictionCount;
+}
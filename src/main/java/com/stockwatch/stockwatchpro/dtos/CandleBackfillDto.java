@@ -0,0 +1,21 @@
+package com.stockwatch.stockwatchpro.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class CandleBackfillDto {
+    private String id;
+    private String status;
+    private Integer stocks;
+    private Long from;
+    private Long to;
+    private Long candles;
+    private Long durationMs;
+    private String error;
+}
@@ -0,0 +1,25 @@
+package com.stockwatch.stockwatchpro.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PortfolioHoldingDto {
+    private Integer stockId;
+    private String symbol;
+    private String companyName;
+    private String industry;
+    private BigDecimal purchase;
+    private BigDecimal lastDiv;
+    private Long marketCap;
+    private BigDecimal currentPrice;
+    private Long priceTime;
+    private BigDecimal gain;
+}
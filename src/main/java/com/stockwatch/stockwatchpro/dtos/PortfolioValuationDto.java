@@ -0,0 +1,22 @@
+package com.stockwatch.stockwatchpro.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PortfolioValuationDto {
+    private List<PortfolioHoldingDto> holdings;
+    private Integer holdingCount;
+    private BigDecimal totalPurchase;
+    private BigDecimal totalValue;
+    private BigDecimal totalGain;
+    private BigDecimal totalLastDiv;
+}
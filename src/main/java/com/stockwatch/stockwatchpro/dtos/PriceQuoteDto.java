@@ -0,0 +1,20 @@
+package com.stockwatch.stockwatchpro.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PriceQuoteDto {
+    private Integer stockId;
+    private String symbol;
+    private BigDecimal price;
+    private Long volume;
+    private Long timestamp;
+}
@@ -1,5 +1,6 @@
 package com.stockwatch.stockwatchpro.dtos;
 
+import com.stockwatch.stockwatchpro.models.Stock;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -19,4 +20,18 @@ public class StockDto {
     private BigDecimal lastDiv;
     private String industry;
     private Long marketCap;
+    private Long version;
+
+    public static StockDto from(Stock stock) {
+        return StockDto.builder()
+                .id(stock.getId())
+                .symbol(stock.getSymbol())
+                .companyName(stock.getCompanyName())
+                .purchase(stock.getPurchase())
+                .lastDiv(stock.getLastDiv())
+                .industry(stock.getIndustry())
+                .marketCap(stock.getMarketCap())
+                .version(stock.getVersion())
+                .build();
+    }
 }
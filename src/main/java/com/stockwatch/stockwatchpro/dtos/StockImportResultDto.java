@@ -0,0 +1,23 @@
+package com.stockwatch.stockwatchpro.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockImportResultDto {
+    private Long received;
+    private Long inserted;
+    private Long updated;
+    private Long unchanged;
+    private Long duplicates;
+    private Long rejected;
+    private List<String> errors;
+    private Long durationMs;
+}
@@ -26,4 +26,6 @@ public class UpdateStockRequestDto {
 
     @Min(value = 0, message = "Market cap cannot be negative")
     private Long marketCap;
+
+    private Long version;
 }
@@ -0,0 +1,6 @@
+package com.stockwatch.stockwatchpro.history;
+
+@FunctionalInterface
+public interface TickConsumer {
+    void accept(long timestamp, long priceUnits, long volume);
+}
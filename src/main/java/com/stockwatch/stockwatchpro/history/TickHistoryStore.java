@@ -0,0 +1,80 @@
+package com.stockwatch.stockwatchpro.history;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.stockwatch.stockwatchpro.marketdata.PriceTick;
+import com.stockwatch.stockwatchpro.marketdata.PriceTickListener;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class TickHistoryStore implements PriceTickListener {
+    public static final int PRICE_SCALE = 4;
+
+    private final Path directory;
+    private final int initialSegmentCapacity;
+    private final int segmentCapacity;
+    private final long retentionMs;
+    private final Cache<Path, TickSegment> sealedMappings;
+    private final Map<Integer, TickSeries> series = new ConcurrentHashMap<>();
+
+    public TickHistoryStore(@Value("${history.store.dir:data/ticks}") String directory,
+                            @Value("${history.store.initial-segment-ticks:4096}") int initialSegmentCapacity,
+                            @Value("${history.store.segment-ticks:262144}") int segmentCapacity,
+                            @Value("${history.store.retention-days:30}") int retentionDays,
+                            @Value("${history.store.max-mapped-sealed-segments:256}") long maxMappedSealedSegments) {
+        this.directory = Path.of(directory);
+        this.initialSegmentCapacity = initialSegmentCapacity;
+        this.segmentCapacity = segmentCapacity;
+        this.retentionMs = TimeUnit.DAYS.toMillis(retentionDays);
+        this.sealedMappings = Caffeine.newBuilder()
+                .maximumSize(maxMappedSealedSegments)
+                .build();
+    }
+
+    @Override
+    public void onPriceTick(PriceTick tick) {
+        seriesFor(tick.stockId()).append(tick.timestamp(), toUnits(tick.price()), tick.volume());
+    }
+
+    public List<TickRange> read(int stockId, long from, long to, int limit) {
+        if (!hasSeries(stockId)) {
+            return List.of();
+        }
+        return seriesFor(stockId).read(from, to, limit);
+    }
+
+    public void scan(int stockId, long from, long to, TickConsumer consumer) {
+        if (hasSeries(stockId)) {
+            seriesFor(stockId).scan(from, to, consumer);
+        }
+    }
+
+    @PreDestroy
+    public void checkpoint() {
+        series.values().forEach(TickSeries::checkpoint);
+    }
+
+    public static long toUnits(BigDecimal price) {
+        return price.movePointRight(PRICE_SCALE).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    private boolean hasSeries(int stockId) {
+        return series.containsKey(stockId) || Files.isDirectory(directory.resolve(Integer.toString(stockId)));
+    }
+
+    private TickSeries seriesFor(int stockId) {
+        return series.computeIfAbsent(stockId, id -> TickSeries.open(directory.resolve(Integer.toString(id)), initialSegmentCapacity,
+                segmentCapacity, retentionMs, sealedMappings));
+    }
+}
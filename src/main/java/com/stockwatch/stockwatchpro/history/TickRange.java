@@ -0,0 +1,36 @@
+package com.stockwatch.stockwatchpro.history;
+
+import java.math.BigDecimal;
+import java.nio.LongBuffer;
+
+public final class TickRange {
+    private final LongBuffer timestamps;
+    private final LongBuffer prices;
+    private final LongBuffer volumes;
+
+    TickRange(LongBuffer timestamps, LongBuffer prices, LongBuffer volumes) {
+        this.timestamps = timestamps;
+        this.prices = prices;
+        this.volumes = volumes;
+    }
+
+    public int size() {
+        return timestamps.limit();
+    }
+
+    public long timestamp(int index) {
+        return timestamps.get(index);
+    }
+
+    public long priceUnits(int index) {
+        return prices.get(index);
+    }
+
+    public BigDecimal price(int index) {
+        return BigDecimal.valueOf(prices.get(index), TickHistoryStore.PRICE_SCALE);
+    }
+
+    public long volume(int index) {
+        return volumes.get(index);
+    }
+}
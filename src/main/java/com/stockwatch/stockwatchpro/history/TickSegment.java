@@ -0,0 +1,255 @@
+package com.stockwatch.stockwatchpro.history;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+final class TickSegment {
+    private static final Logger log = LoggerFactory.getLogger(TickSegment.class);
+
+    private static final int MAGIC = 0x544B5331;
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = 64;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int CHECKPOINT_OFFSET = 12;
+
+    private final Path path;
+    private final int capacity;
+    private final MappedByteBuffer buffer;
+    private final int timestampsOffset;
+    private final int pricesOffset;
+    private final int volumesOffset;
+    private final int checksumsOffset;
+    private volatile int count;
+
+    private TickSegment(Path path, int capacity, MappedByteBuffer buffer) {
+        this.path = path;
+        this.capacity = capacity;
+        this.buffer = buffer;
+        this.timestampsOffset = HEADER_BYTES;
+        this.pricesOffset = timestampsOffset + capacity * Long.BYTES;
+        this.volumesOffset = pricesOffset + capacity * Long.BYTES;
+        this.checksumsOffset = volumesOffset + capacity * Long.BYTES;
+    }
+
+    static TickSegment create(Path path, int capacity) throws IOException {
+        MappedByteBuffer buffer = map(path, fileSize(capacity), FileChannel.MapMode.READ_WRITE);
+        buffer.putInt(MAGIC_OFFSET, MAGIC);
+        buffer.putInt(VERSION_OFFSET, VERSION);
+        buffer.putInt(CAPACITY_OFFSET, capacity);
+        buffer.putInt(CHECKPOINT_OFFSET, 0);
+        return new TickSegment(path, capacity, buffer);
+    }
+
+    static TickSegment open(Path path) throws IOException {
+        Header header = readHeader(path);
+        TickSegment segment = new TickSegment(path, header.capacity(),
+                map(path, fileSize(header.capacity()), FileChannel.MapMode.READ_WRITE));
+        segment.recover();
+        return segment;
+    }
+
+    static TickSegment openReadOnly(Path path) throws IOException {
+        Header header = readHeader(path);
+        TickSegment segment = new TickSegment(path, header.capacity(),
+                map(path, fileSize(header.capacity()), FileChannel.MapMode.READ_ONLY));
+        segment.count = header.checkpoint();
+        return segment;
+    }
+
+    static boolean isReadable(Path path) {
+        try {
+            readHeader(path);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    static Summary summarize(Path path) throws IOException {
+        Header header = readHeader(path);
+        if (header.checkpoint() == 0) {
+            return new Summary(path, 0, 0L, 0L);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long first = readLong(channel, HEADER_BYTES);
+            long last = readLong(channel, HEADER_BYTES + (long) (header.checkpoint() - 1) * Long.BYTES);
+            return new Summary(path, header.checkpoint(), first, last);
+        }
+    }
+
+    boolean append(long timestamp, long priceUnits, long volume) {
+        int index = count;
+        if (index == capacity) {
+            return false;
+        }
+        buffer.putLong(pricesOffset + index * Long.BYTES, priceUnits);
+        buffer.putLong(volumesOffset + index * Long.BYTES, volume);
+        buffer.putLong(checksumsOffset + index * Long.BYTES, checksum(timestamp, priceUnits, volume));
+        buffer.putLong(timestampsOffset + index * Long.BYTES, timestamp);
+        count = index + 1;
+        return true;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    int count() {
+        return count;
+    }
+
+    boolean isEmpty() {
+        return count == 0;
+    }
+
+    long timestampAt(int index) {
+        return buffer.getLong(timestampsOffset + index * Long.BYTES);
+    }
+
+    long firstTimestamp() {
+        return timestampAt(0);
+    }
+
+    long lastTimestamp() {
+        return timestampAt(count - 1);
+    }
+
+    Summary summary() {
+        int snapshot = count;
+        return new Summary(path, snapshot, snapshot == 0 ? 0L : timestampAt(0), snapshot == 0 ? 0L : timestampAt(snapshot - 1));
+    }
+
+    int lowerBound(long timestamp, int limit) {
+        int low = 0;
+        int high = limit;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestampAt(mid) < timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    TickRange slice(int from, int to) {
+        int length = to - from;
+        return new TickRange(
+                buffer.slice(timestampsOffset + from * Long.BYTES, length * Long.BYTES).asLongBuffer(),
+                buffer.slice(pricesOffset + from * Long.BYTES, length * Long.BYTES).asLongBuffer(),
+                buffer.slice(volumesOffset + from * Long.BYTES, length * Long.BYTES).asLongBuffer());
+    }
+
+    void checkpoint() {
+        buffer.putInt(CHECKPOINT_OFFSET, count);
+        buffer.force();
+    }
+
+    private void recover() {
+        int checkpoint = buffer.getInt(CHECKPOINT_OFFSET);
+        int index = checkpoint >= 0 && checkpoint <= capacity ? checkpoint : 0;
+        long previous = index > 0 ? timestampAt(index - 1) : Long.MIN_VALUE;
+        while (index < capacity) {
+            long timestamp = timestampAt(index);
+            if (timestamp <= 0 || timestamp < previous || !isComplete(index, timestamp)) {
+                break;
+            }
+            previous = timestamp;
+            index++;
+        }
+        count = index;
+
+        int truncated = 0;
+        for (int i = index; i < capacity && timestampAt(i) != 0; i++) {
+            buffer.putLong(timestampsOffset + i * Long.BYTES, 0L);
+            buffer.putLong(pricesOffset + i * Long.BYTES, 0L);
+            buffer.putLong(volumesOffset + i * Long.BYTES, 0L);
+            buffer.putLong(checksumsOffset + i * Long.BYTES, 0L);
+            truncated++;
+        }
+        if (truncated > 0) {
+            log.warn("Truncated {} torn ticks from {}", truncated, path);
+        }
+        checkpoint();
+    }
+
+    private boolean isComplete(int index, long timestamp) {
+        long priceUnits = buffer.getLong(pricesOffset + index * Long.BYTES);
+        long volume = buffer.getLong(volumesOffset + index * Long.BYTES);
+        return buffer.getLong(checksumsOffset + index * Long.BYTES) == checksum(timestamp, priceUnits, volume);
+    }
+
+    static long checksum(long timestamp, long priceUnits, long volume) {
+        long hash = timestamp * 0x9E3779B97F4A7C15L;
+        hash ^= Long.rotateLeft(priceUnits * 0xC2B2AE3D27D4EB4FL, 21);
+        hash ^= Long.rotateLeft(volume * 0x165667B19E3779F9L, 42);
+        hash ^= hash >>> 29;
+        return hash == 0 ? 1 : hash;
+    }
+
+    private static Header readHeader(Path path) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            readFully(channel, header, 0);
+        }
+        if (header.position() < HEADER_BYTES || header.getInt(MAGIC_OFFSET) != MAGIC) {
+            throw new IOException("Not a tick segment: " + path);
+        }
+        if (header.getInt(VERSION_OFFSET) != VERSION) {
+            throw new IOException("Unsupported tick segment version " + header.getInt(VERSION_OFFSET) + ": " + path);
+        }
+        int capacity = header.getInt(CAPACITY_OFFSET);
+        int checkpoint = header.getInt(CHECKPOINT_OFFSET);
+        return new Header(capacity, checkpoint >= 0 && checkpoint <= capacity ? checkpoint : 0);
+    }
+
+    private static long readLong(FileChannel channel, long position) throws IOException {
+        ByteBuffer value = ByteBuffer.allocate(Long.BYTES);
+        readFully(channel, value, position);
+        return value.hasRemaining() ? 0L : value.getLong(0);
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer target, long position) throws IOException {
+        while (target.hasRemaining()) {
+            if (channel.read(target, position + target.position()) < 0) {
+                return;
+            }
+        }
+    }
+
+    private static long fileSize(int capacity) {
+        return HEADER_BYTES + (long) capacity * Long.BYTES * 4;
+    }
+
+    private static MappedByteBuffer map(Path path, long size, FileChannel.MapMode mode) throws IOException {
+        if (mode == FileChannel.MapMode.READ_ONLY) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                return channel.map(mode, 0, size);
+            }
+        }
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(mode, 0, size);
+        }
+    }
+
+    record Summary(Path path, int count, long firstTimestamp, long lastTimestamp) {
+    }
+
+    private record Header(int capacity, int checkpoint) {
+    }
+}
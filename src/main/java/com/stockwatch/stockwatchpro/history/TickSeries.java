@@ -0,0 +1,244 @@
+package com.stockwatch.stockwatchpro.history;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+final class TickSeries {
+    private static final Logger log = LoggerFactory.getLogger(TickSeries.class);
+    private static final String SEGMENT_PREFIX = "seg-";
+    private static final String SEGMENT_SUFFIX = ".dat";
+
+    private final Path directory;
+    private final int initialSegmentCapacity;
+    private final int segmentCapacity;
+    private final long retentionMs;
+    private final Cache<Path, TickSegment> sealedMappings;
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private volatile State state = new State(List.of(), null);
+    private long lastTimestamp;
+    private long nextSegmentNumber;
+    private int nextCapacity;
+
+    private TickSeries(Path directory, int initialSegmentCapacity, int segmentCapacity, long retentionMs,
+                       Cache<Path, TickSegment> sealedMappings) {
+        this.directory = directory;
+        this.initialSegmentCapacity = Math.min(initialSegmentCapacity, segmentCapacity);
+        this.segmentCapacity = segmentCapacity;
+        this.nextCapacity = this.initialSegmentCapacity;
+        this.retentionMs = retentionMs;
+        this.sealedMappings = sealedMappings;
+    }
+
+    static TickSeries open(Path directory, int initialSegmentCapacity, int segmentCapacity, long retentionMs,
+                           Cache<Path, TickSegment> sealedMappings) {
+        TickSeries series = new TickSeries(directory, initialSegmentCapacity, segmentCapacity, retentionMs, sealedMappings);
+        try {
+            Files.createDirectories(directory);
+            List<Path> segmentFiles;
+            try (Stream<Path> listing = Files.list(directory)) {
+                segmentFiles = listing.filter(TickSeries::isSegmentFile).sorted().toList();
+            }
+            if (!segmentFiles.isEmpty()) {
+                series.nextSegmentNumber = segmentNumber(segmentFiles.get(segmentFiles.size() - 1)) + 1;
+            }
+            List<Path> files = new ArrayList<>(segmentFiles.size());
+            for (Path file : segmentFiles) {
+                if (TickSegment.isReadable(file)) {
+                    files.add(file);
+                } else {
+                    log.warn("Ignoring tick segment {} with an unsupported format", file);
+                }
+            }
+            List<TickSegment.Summary> sealed = new ArrayList<>();
+            for (int i = 0; i < files.size() - 1; i++) {
+                sealed.add(TickSegment.summarize(files.get(i)));
+            }
+            TickSegment active = null;
+            if (!files.isEmpty()) {
+                active = TickSegment.open(files.get(files.size() - 1));
+                series.nextCapacity = series.grow(active.capacity());
+            }
+            for (int i = sealed.size() - 1; i >= 0 && series.lastTimestamp == 0; i--) {
+                series.lastTimestamp = sealed.get(i).lastTimestamp();
+            }
+            if (active != null && !active.isEmpty()) {
+                series.lastTimestamp = active.lastTimestamp();
+            }
+            series.state = new State(series.applyRetention(sealed), active);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open tick series in " + directory, e);
+        }
+        return series;
+    }
+
+    boolean append(long timestamp, long priceUnits, long volume) {
+        appendLock.lock();
+        try {
+            if (timestamp <= 0 || timestamp < lastTimestamp) {
+                return false;
+            }
+            TickSegment active = state.active() == null ? rollover() : state.active();
+            if (!active.append(timestamp, priceUnits, volume)) {
+                rollover().append(timestamp, priceUnits, volume);
+            }
+            lastTimestamp = timestamp;
+            return true;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    List<TickRange> read(long from, long to, int limit) {
+        State snapshot = state;
+        Deque<TickRange> ranges = new ArrayDeque<>();
+        int remaining = limit;
+        if (snapshot.active() != null) {
+            remaining -= readInto(snapshot.active(), from, to, remaining, ranges);
+        }
+        for (int i = snapshot.sealed().size() - 1; i >= 0 && remaining > 0; i--) {
+            TickSegment.Summary summary = snapshot.sealed().get(i);
+            if (summary.count() == 0 || summary.firstTimestamp() > to) {
+                continue;
+            }
+            if (summary.lastTimestamp() < from) {
+                break;
+            }
+            remaining -= readInto(mapSealed(summary), from, to, remaining, ranges);
+        }
+        return new ArrayList<>(ranges);
+    }
+
+    void scan(long from, long to, TickConsumer consumer) {
+        State snapshot = state;
+        for (TickSegment.Summary summary : snapshot.sealed()) {
+            if (summary.count() == 0 || summary.lastTimestamp() < from) {
+                continue;
+            }
+            if (summary.firstTimestamp() > to) {
+                return;
+            }
+            scanSegment(mapSealed(summary), from, to, consumer);
+        }
+        if (snapshot.active() != null) {
+            scanSegment(snapshot.active(), from, to, consumer);
+        }
+    }
+
+    void checkpoint() {
+        appendLock.lock();
+        try {
+            if (state.active() != null) {
+                state.active().checkpoint();
+            }
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private int readInto(TickSegment segment, long from, long to, int remaining, Deque<TickRange> ranges) {
+        int count = segment.count();
+        if (count == 0 || segment.firstTimestamp() > to || segment.timestampAt(count - 1) < from) {
+            return 0;
+        }
+        int start = segment.lowerBound(from, count);
+        int end = to == Long.MAX_VALUE ? count : segment.lowerBound(to + 1, count);
+        start = Math.max(start, end - remaining);
+        if (start >= end) {
+            return 0;
+        }
+        ranges.addFirst(segment.slice(start, end));
+        return end - start;
+    }
+
+    private void scanSegment(TickSegment segment, long from, long to, TickConsumer consumer) {
+        int count = segment.count();
+        if (count == 0 || segment.timestampAt(count - 1) < from || segment.firstTimestamp() > to) {
+            return;
+        }
+        int start = segment.lowerBound(from, count);
+        int end = to == Long.MAX_VALUE ? count : segment.lowerBound(to + 1, count);
+        TickRange range = segment.slice(start, end);
+        for (int i = 0; i < range.size(); i++) {
+            consumer.accept(range.timestamp(i), range.priceUnits(i), range.volume(i));
+        }
+    }
+
+    private TickSegment mapSealed(TickSegment.Summary summary) {
+        return sealedMappings.get(summary.path(), path -> {
+            try {
+                return TickSegment.openReadOnly(path);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not map tick segment " + path, e);
+            }
+        });
+    }
+
+    private TickSegment rollover() {
+        List<TickSegment.Summary> sealed = new ArrayList<>(state.sealed());
+        if (state.active() != null) {
+            state.active().checkpoint();
+            sealed.add(state.active().summary());
+        }
+        Path file = directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, nextSegmentNumber, SEGMENT_SUFFIX));
+        try {
+            TickSegment segment = TickSegment.create(file, nextCapacity);
+            nextSegmentNumber++;
+            nextCapacity = grow(nextCapacity);
+            state = new State(applyRetention(sealed), segment);
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create tick segment " + file, e);
+        }
+    }
+
+    private int grow(int capacity) {
+        return (int) Math.min(segmentCapacity, Math.max(initialSegmentCapacity, capacity * 2L));
+    }
+
+    private List<TickSegment.Summary> applyRetention(List<TickSegment.Summary> sealed) {
+        if (retentionMs <= 0) {
+            return List.copyOf(sealed);
+        }
+        long cutoff = System.currentTimeMillis() - retentionMs;
+        List<TickSegment.Summary> retained = new ArrayList<>(sealed.size());
+        for (TickSegment.Summary summary : sealed) {
+            if (summary.lastTimestamp() >= cutoff) {
+                retained.add(summary);
+                continue;
+            }
+            sealedMappings.invalidate(summary.path());
+            try {
+                Files.deleteIfExists(summary.path());
+            } catch (IOException e) {
+                log.warn("Could not delete expired tick segment {}", summary.path(), e);
+                retained.add(summary);
+            }
+        }
+        return List.copyOf(retained);
+    }
+
+    private static long segmentNumber(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static boolean isSegmentFile(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private record State(List<TickSegment.Summary> sealed, TickSegment active) {
+    }
+}
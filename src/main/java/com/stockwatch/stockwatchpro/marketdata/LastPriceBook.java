@@ -0,0 +1,21 @@
+package com.stockwatch.stockwatchpro.marketdata;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class LastPriceBook implements PriceTickListener {
+    private final Map<Integer, PriceTick> latest = new ConcurrentHashMap<>();
+
+    @Override
+    public void onPriceTick(PriceTick tick) {
+        latest.merge(tick.stockId(), tick, (current, next) -> next.timestamp() >= current.timestamp() ? next : current);
+    }
+
+    public Optional<PriceTick> latest(int stockId) {
+        return Optional.ofNullable(latest.get(stockId));
+    }
+}
@@ -0,0 +1,28 @@
+package com.stockwatch.stockwatchpro.marketdata;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class PriceFeed {
+    private static final Logger log = LoggerFactory.getLogger(PriceFeed.class);
+
+    private final List<PriceTickListener> listeners;
+
+    public PriceFeed(List<PriceTickListener> listeners) {
+        this.listeners = List.copyOf(listeners);
+    }
+
+    public void publish(PriceTick tick) {
+        for (PriceTickListener listener : listeners) {
+            try {
+                listener.onPriceTick(tick);
+            } catch (RuntimeException e) {
+                log.error("Price listener {} failed for stock {}", listener.getClass().getSimpleName(), tick.stockId(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.stockwatch.stockwatchpro.marketdata;
+
+import java.math.BigDecimal;
+
+public record PriceTick(int stockId, String symbol, BigDecimal price, long volume, long timestamp) {
+}
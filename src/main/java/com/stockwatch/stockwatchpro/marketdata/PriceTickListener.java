@@ -0,0 +1,5 @@
+package com.stockwatch.stockwatchpro.marketdata;
+
+public interface PriceTickListener {
+    void onPriceTick(PriceTick tick);
+}
@@ -16,6 +16,7 @@ import java.util.List;
 public class AppUser {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(columnDefinition = "uuid")
     private String id;
 
     @Column(nullable = false, unique = true)
@@ -34,7 +35,7 @@ public class AppUser {
     private List<PriceAlert> priceAlerts = new ArrayList<>();
 
     @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "user_roles", joinColumns = @JoinColumn(name = "user_id"))
+    @CollectionTable(name = "user_roles", joinColumns = @JoinColumn(name = "user_id", columnDefinition = "uuid"))
     @Column(name = "role")
     private List<String> roles = new ArrayList<>();
 }
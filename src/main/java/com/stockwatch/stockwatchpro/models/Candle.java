@@ -0,0 +1,81 @@
+package com.stockwatch.stockwatchpro.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@Entity
+@Table(name = "candles")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@IdClass(CandleId.class)
+public class Candle {
+    @Id
+    @Column(name = "stock_id")
+    private Integer stockId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "bar_interval", length = 16)
+    private Interval interval;
+
+    @Id
+    @Column(name = "open_time")
+    private Long openTime;
+
+    @Column(name = "open_price", nullable = false, precision = 18, scale = 4)
+    private BigDecimal open;
+
+    @Column(name = "high_price", nullable = false, precision = 18, scale = 4)
+    private BigDecimal high;
+
+    @Column(name = "low_price", nullable = false, precision = 18, scale = 4)
+    private BigDecimal low;
+
+    @Column(name = "close_price", nullable = false, precision = 18, scale = 4)
+    private BigDecimal close;
+
+    @Column(nullable = false)
+    private Long volume;
+
+    public enum Interval {
+        ONE_MINUTE("1m", TimeUnit.MINUTES.toMillis(1)),
+        FIVE_MINUTES("5m", TimeUnit.MINUTES.toMillis(5)),
+        ONE_HOUR("1h", TimeUnit.HOURS.toMillis(1)),
+        ONE_DAY("1d", TimeUnit.DAYS.toMillis(1));
+
+        private final String code;
+        private final long millis;
+
+        Interval(String code, long millis) {
+            this.code = code;
+            this.millis = millis;
+        }
+
+        public String getCode() {
+            return code;
+        }
+
+        public long getMillis() {
+            return millis;
+        }
+
+        public long bucketStart(long timestamp) {
+            return timestamp - Math.floorMod(timestamp, millis);
+        }
+
+        public static Interval fromCode(String code) {
+            for (Interval interval : values()) {
+                if (interval.code.equalsIgnoreCase(code)) {
+                    return interval;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported candle interval: " + code);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.stockwatch.stockwatchpro.models;
+
+import lombok.*;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CandleId implements Serializable {
+    private Integer stockId;
+    private Candle.Interval interval;
+    private Long openTime;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CandleId that = (CandleId) o;
+        return Objects.equals(stockId, that.stockId) &&
+                interval == that.interval &&
+                Objects.equals(openTime, that.openTime);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(stockId, interval, openTime);
+    }
+}
@@ -1,5 +1,6 @@
 package com.stockwatch.stockwatchpro.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -13,17 +14,19 @@ import lombok.*;
 @IdClass(PortfolioId.class)
 public class Portfolio {
     @Id
-    @Column(name = "app_user_id")
+    @Column(name = "app_user_id", columnDefinition = "uuid")
     private String appUserId;
 
     @Id
     @Column(name = "stock_id")
     private Integer stockId;
 
+    @JsonIgnore
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "app_user_id", insertable = false, updatable = false)
     private AppUser appUser;
 
+    @JsonIgnore
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "stock_id", insertable = false, updatable = false)
     private Stock stock;
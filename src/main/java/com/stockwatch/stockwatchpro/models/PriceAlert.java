@@ -18,7 +18,7 @@ public class PriceAlert {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
 
-    @Column(name = "app_user_id", nullable = false)
+    @Column(name = "app_user_id", nullable = false, columnDefinition = "uuid")
     private String appUserId;
 
     @Column(name = "stock_id", nullable = false)
@@ -40,6 +40,9 @@ public class PriceAlert {
     @Column(name = "triggered_at")
     private LocalDateTime triggeredAt;
 
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "app_user_id", insertable = false, updatable = false)
     private AppUser appUser;
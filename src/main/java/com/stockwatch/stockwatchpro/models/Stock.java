@@ -40,6 +40,10 @@ public class Stock {
     @Column(name = "market_cap")
     private Long marketCap;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @OneToMany(mappedBy = "stock", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Comment> comments = new ArrayList<>();
 
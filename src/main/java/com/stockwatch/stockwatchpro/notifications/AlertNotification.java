@@ -0,0 +1,9 @@
+package com.stockwatch.stockwatchpro.notifications;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record AlertNotification(long id, String appUserId, int alertId, int stockId, String alertType,
+                                BigDecimal targetPrice, BigDecimal triggeredPrice, LocalDateTime triggeredAt,
+                                int attempts) {
+}
@@ -0,0 +1,237 @@
+package com.stockwatch.stockwatchpro.notifications;
+
+import com.stockwatch.stockwatchpro.repositories.AlertNotificationOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class AlertNotificationDispatcher {
+    private static final Logger log = LoggerFactory.getLogger(AlertNotificationDispatcher.class);
+
+    private final AlertNotificationOutboxRepository outboxRepository;
+    private final NotificationSink sink;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long pollIntervalMs;
+    private final long leaseMs;
+    private final int maxAttempts;
+    private final long backoffBaseMs;
+    private final long backoffMaxMs;
+    private final Semaphore permits;
+    private final ExecutorService deliveries = Executors.newVirtualThreadPerTaskExecutor();
+    private final Counter delivered;
+    private final Counter retried;
+    private final Counter dead;
+    private final Counter leaseLost;
+    private final AtomicLong pending = new AtomicLong();
+    private long pendingSampledAt;
+    private volatile boolean running;
+    private Thread dispatcher;
+
+    public AlertNotificationDispatcher(AlertNotificationOutboxRepository outboxRepository, NotificationSink sink,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${notifications.dispatcher.enabled:true}") boolean enabled,
+                                       @Value("${notifications.dispatcher.batch-size:100}") int batchSize,
+                                       @Value("${notifications.dispatcher.poll-interval-ms:500}") long pollIntervalMs,
+                                       @Value("${notifications.dispatcher.lease-ms:60000}") long leaseMs,
+                                       @Value("${notifications.dispatcher.lease-margin-ms:5000}") long leaseMarginMs,
+                                       @Value("${notifications.dispatcher.max-concurrency:64}") int maxConcurrency,
+                                       @Value("${notifications.dispatcher.max-attempts:10}") int maxAttempts,
+                                       @Value("${notifications.dispatcher.backoff-base-ms:1000}") long backoffBaseMs,
+                                       @Value("${notifications.dispatcher.backoff-max-ms:600000}") long backoffMaxMs) {
+        this.outboxRepository = outboxRepository;
+        this.sink = sink;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.pollIntervalMs = pollIntervalMs;
+        this.leaseMs = leaseMs;
+        this.maxAttempts = maxAttempts;
+        this.backoffBaseMs = backoffBaseMs;
+        this.backoffMaxMs = backoffMaxMs;
+        this.permits = new Semaphore(maxConcurrency);
+        long worstCaseBatchMs = Math.ceilDiv(batchSize, maxConcurrency) * sink.maxDeliveryTime().toMillis() + leaseMarginMs;
+        if (enabled && leaseMs <= worstCaseBatchMs) {
+            throw new IllegalStateException("notifications.dispatcher.lease-ms (" + leaseMs
+                    + ") must exceed the worst-case batch time of " + worstCaseBatchMs
+                    + " ms including lease-margin-ms; lower batch-size or raise lease-ms or max-concurrency");
+        }
+        this.delivered = outcome(meterRegistry, "delivered");
+        this.retried = outcome(meterRegistry, "retried");
+        this.dead = outcome(meterRegistry, "dead");
+        this.leaseLost = outcome(meterRegistry, "lease-lost");
+        meterRegistry.gauge("alert.notifications.pending", pending);
+    }
+
+    private static Counter outcome(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("alert.notifications")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            log.info("Alert notification dispatcher disabled");
+            return;
+        }
+        running = true;
+        dispatcher = new Thread(this::runDispatchLoop, "alert-notification-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+            try {
+                dispatcher.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        deliveries.shutdownNow();
+    }
+
+    private void runDispatchLoop() {
+        while (running) {
+            try {
+                samplePending();
+                int claimed = dispatchOnce();
+                if (claimed < batchSize) {
+                    Thread.sleep(pollIntervalMs);
+                }
+            } catch (InterruptedException e) {
+                break;
+            } catch (RuntimeException e) {
+                log.warn("Alert notification dispatch failed, retrying in {} ms", pollIntervalMs, e);
+                try {
+                    Thread.sleep(pollIntervalMs);
+                } catch (InterruptedException interrupted) {
+                    break;
+                }
+            }
+        }
+    }
+
+    private void samplePending() {
+        long now = System.currentTimeMillis();
+        if (now - pendingSampledAt >= pollIntervalMs) {
+            pending.set(outboxRepository.countPending());
+            pendingSampledAt = now;
+        }
+    }
+
+    int dispatchOnce() throws InterruptedException {
+        List<AlertNotification> claimed = outboxRepository.claimDue(batchSize, leaseMs);
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+        Map<String, List<AlertNotification>> byUser = new LinkedHashMap<>();
+        for (AlertNotification notification : claimed) {
+            byUser.computeIfAbsent(notification.appUserId(), key -> new ArrayList<>()).add(notification);
+        }
+
+        List<Future<Void>> results = new ArrayList<>(byUser.size());
+        for (Map.Entry<String, List<AlertNotification>> entry : byUser.entrySet()) {
+            UserNotification notification = new UserNotification(entry.getKey(), List.copyOf(entry.getValue()));
+            results.add(deliveries.submit(deliverTask(notification)));
+        }
+        for (Future<Void> result : results) {
+            await(result);
+        }
+        return claimed.size();
+    }
+
+    private Callable<Void> deliverTask(UserNotification notification) {
+        return () -> {
+            String error = deliver(notification);
+            if (error == null) {
+                int deleted = outboxRepository.delete(notification.alerts());
+                delivered.increment(notification.alerts().size());
+                lost(notification.alerts().size() - deleted);
+            } else {
+                fail(notification, error);
+            }
+            return null;
+        };
+    }
+
+    private String deliver(UserNotification notification) throws InterruptedException {
+        permits.acquire();
+        try {
+            sink.deliver(notification);
+            return null;
+        } catch (Exception e) {
+            return e.getClass().getSimpleName() + ": " + e.getMessage();
+        } finally {
+            permits.release();
+        }
+    }
+
+    private static void await(Future<Void> result) throws InterruptedException {
+        try {
+            result.get();
+        } catch (ExecutionException e) {
+            log.warn("Could not record notification outcome; rows are retried when their lease expires", e.getCause());
+        }
+    }
+
+    private void fail(UserNotification notification, String error) {
+        List<AlertNotification> retry = new ArrayList<>();
+        List<AlertNotification> exhausted = new ArrayList<>();
+        int attempts = 0;
+        for (AlertNotification alert : notification.alerts()) {
+            (alert.attempts() >= maxAttempts ? exhausted : retry).add(alert);
+            attempts = Math.max(attempts, alert.attempts());
+        }
+        if (!retry.isEmpty()) {
+            long delay = backoff(attempts);
+            lost(retry.size() - outboxRepository.reschedule(retry, delay, error));
+            retried.increment(retry.size());
+            log.debug("Notification for user {} failed ({}), retrying {} alerts in {} ms",
+                    notification.appUserId(), error, retry.size(), delay);
+        }
+        if (!exhausted.isEmpty()) {
+            lost(exhausted.size() - outboxRepository.markDead(exhausted, error));
+            dead.increment(exhausted.size());
+            log.warn("Giving up on {} notifications for user {} after {} attempts: {}",
+                    exhausted.size(), notification.appUserId(), maxAttempts, error);
+        }
+    }
+
+    private void lost(int rows) {
+        if (rows > 0) {
+            leaseLost.increment(rows);
+            log.warn("Lease expired for {} notification rows before their outcome was recorded; another claim owns them", rows);
+        }
+    }
+
+    private long backoff(int attempts) {
+        long delay = backoffBaseMs << Math.min(Math.max(attempts - 1, 0), 30);
+        delay = Math.min(Math.max(delay, backoffBaseMs), backoffMaxMs);
+        return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+}
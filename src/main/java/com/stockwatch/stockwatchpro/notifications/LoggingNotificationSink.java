@@ -0,0 +1,17 @@
+package com.stockwatch.stockwatchpro.notifications;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "notifications.sink", havingValue = "log", matchIfMissing = true)
+public class LoggingNotificationSink implements NotificationSink {
+    private static final Logger log = LoggerFactory.getLogger(LoggingNotificationSink.class);
+
+    @Override
+    public void deliver(UserNotification notification) {
+        log.info("Notifying user {} of {} triggered alerts", notification.appUserId(), notification.alerts().size());
+    }
+}
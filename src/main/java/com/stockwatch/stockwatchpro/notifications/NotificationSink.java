@@ -0,0 +1,11 @@
+package com.stockwatch.stockwatchpro.notifications;
+
+import java.time.Duration;
+
+public interface NotificationSink {
+    void deliver(UserNotification notification) throws Exception;
+
+    default Duration maxDeliveryTime() {
+        return Duration.ZERO;
+    }
+}
@@ -0,0 +1,6 @@
+package com.stockwatch.stockwatchpro.notifications;
+
+import java.util.List;
+
+public record UserNotification(String appUserId, List<AlertNotification> alerts) {
+}
@@ -0,0 +1,65 @@
+package com.stockwatch.stockwatchpro.notifications;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+
+@Component
+@ConditionalOnProperty(name = "notifications.sink", havingValue = "webhook")
+public class WebhookNotificationSink implements NotificationSink {
+    private final ObjectMapper objectMapper;
+    private final URI url;
+    private final Duration timeout;
+    private final HttpClient client;
+
+    public WebhookNotificationSink(ObjectMapper objectMapper,
+                                   @Value("${notifications.webhook.url}") URI url,
+                                   @Value("${notifications.webhook.timeout-ms:10000}") long timeoutMs) {
+        this.objectMapper = objectMapper;
+        this.url = url;
+        this.timeout = Duration.ofMillis(timeoutMs);
+        this.client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    @Override
+    public void deliver(UserNotification notification) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(url)
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .header("Idempotency-Key", idempotencyKey(notification))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(notification)))
+                .build();
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("Webhook " + url + " returned HTTP " + response.statusCode());
+        }
+    }
+
+    @Override
+    public Duration maxDeliveryTime() {
+        return timeout.multipliedBy(2);
+    }
+
+    private static String idempotencyKey(UserNotification notification) {
+        StringBuilder key = new StringBuilder("alert-notifications");
+        notification.alerts().stream()
+                .mapToLong(AlertNotification::id)
+                .sorted()
+                .forEach(id -> key.append(':').append(id));
+        return UUID.nameUUIDFromBytes(key.toString().getBytes(StandardCharsets.UTF_8)).toString();
+    }
+}
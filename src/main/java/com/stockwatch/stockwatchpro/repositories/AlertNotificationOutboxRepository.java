@@ -0,0 +1,103 @@
+package com.stockwatch.stockwatchpro.repositories;
+
+import com.stockwatch.stockwatchpro.notifications.AlertNotification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+@Repository
+public class AlertNotificationOutboxRepository {
+    private static final String CLAIM_SQL =
+            "UPDATE alert_notification_outbox o SET attempts = o.attempts + 1, " +
+            "next_attempt_at = now() + ? * interval '1 millisecond' " +
+            "WHERE o.id IN (SELECT id FROM alert_notification_outbox " +
+            "WHERE status = 'PENDING' AND next_attempt_at <= now() " +
+            "ORDER BY next_attempt_at LIMIT ? FOR UPDATE SKIP LOCKED) " +
+            "RETURNING o.id, o.app_user_id, o.alert_id, o.stock_id, o.alert_type, o.target_price, " +
+            "o.triggered_price, o.triggered_at, o.attempts";
+    private static final String CLAIMS = "unnest(?::bigint[], ?::int[]) AS c(id, attempts)";
+    private static final String OWNED = "o.id = c.id AND o.attempts = c.attempts AND o.status = 'PENDING'";
+    private static final String DELETE_SQL =
+            "DELETE FROM alert_notification_outbox o USING " + CLAIMS + " WHERE " + OWNED;
+    private static final String RESCHEDULE_SQL =
+            "UPDATE alert_notification_outbox o SET next_attempt_at = now() + ? * interval '1 millisecond', last_error = ? " +
+            "FROM " + CLAIMS + " WHERE " + OWNED;
+    private static final String MARK_DEAD_SQL =
+            "UPDATE alert_notification_outbox o SET status = 'DEAD', last_error = ? FROM " + CLAIMS + " WHERE " + OWNED;
+    private static final String COUNT_PENDING_SQL =
+            "SELECT count(*) FROM alert_notification_outbox WHERE status = 'PENDING'";
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private static final RowMapper<AlertNotification> ROW_MAPPER = (rs, rowNum) -> new AlertNotification(
+            rs.getLong("id"),
+            rs.getString("app_user_id"),
+            rs.getInt("alert_id"),
+            rs.getInt("stock_id"),
+            rs.getString("alert_type"),
+            rs.getBigDecimal("target_price"),
+            rs.getBigDecimal("triggered_price"),
+            rs.getTimestamp("triggered_at").toLocalDateTime(),
+            rs.getInt("attempts"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AlertNotificationOutboxRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<AlertNotification> claimDue(int limit, long leaseMillis) {
+        return jdbcTemplate.query(CLAIM_SQL, ROW_MAPPER, leaseMillis, limit);
+    }
+
+    public int delete(List<AlertNotification> claims) {
+        return jdbcTemplate.update(connection -> {
+            var statement = connection.prepareStatement(DELETE_SQL);
+            bindClaims(connection, statement, 1, claims);
+            return statement;
+        });
+    }
+
+    public int reschedule(List<AlertNotification> claims, long delayMillis, String error) {
+        return jdbcTemplate.update(connection -> {
+            var statement = connection.prepareStatement(RESCHEDULE_SQL);
+            statement.setLong(1, delayMillis);
+            statement.setString(2, truncate(error));
+            bindClaims(connection, statement, 3, claims);
+            return statement;
+        });
+    }
+
+    public int markDead(List<AlertNotification> claims, String error) {
+        return jdbcTemplate.update(connection -> {
+            var statement = connection.prepareStatement(MARK_DEAD_SQL);
+            statement.setString(1, truncate(error));
+            bindClaims(connection, statement, 2, claims);
+            return statement;
+        });
+    }
+
+    public long countPending() {
+        Long count = jdbcTemplate.queryForObject(COUNT_PENDING_SQL, Long.class);
+        return count != null ? count : 0;
+    }
+
+    private static void bindClaims(Connection connection, PreparedStatement statement, int index,
+                                   List<AlertNotification> claims) throws SQLException {
+        Long[] ids = new Long[claims.size()];
+        Integer[] attempts = new Integer[claims.size()];
+        for (int i = 0; i < claims.size(); i++) {
+            ids[i] = claims.get(i).id();
+            attempts[i] = claims.get(i).attempts();
+        }
+        statement.setArray(index, connection.createArrayOf("bigint", ids));
+        statement.setArray(index + 1, connection.createArrayOf("integer", attempts));
+    }
+
+    private static String truncate(String error) {
+        return error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+}
@@ -0,0 +1,22 @@
+package com.stockwatch.stockwatchpro.repositories;
+
+import com.stockwatch.stockwatchpro.models.Candle;
+import com.stockwatch.stockwatchpro.models.CandleId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CandleRepository extends JpaRepository<Candle, CandleId>, CandleRepositoryCustom {
+    @Query("SELECT c FROM Candle c WHERE c.stockId = :stockId AND c.interval = :interval " +
+            "AND c.openTime BETWEEN :from AND :to ORDER BY c.openTime DESC")
+    List<Candle> findLatestInRange(@Param("stockId") Integer stockId,
+                                   @Param("interval") Candle.Interval interval,
+                                   @Param("from") Long from,
+                                   @Param("to") Long to,
+                                   Pageable pageable);
+}
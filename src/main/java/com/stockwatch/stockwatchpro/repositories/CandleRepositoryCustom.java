@@ -0,0 +1,12 @@
+package com.stockwatch.stockwatchpro.repositories;
+
+import com.stockwatch.stockwatchpro.candles.CandleContribution;
+import com.stockwatch.stockwatchpro.models.Candle;
+
+import java.util.List;
+
+public interface CandleRepositoryCustom {
+    void writeContributions(long writerEpoch, List<CandleContribution> contributions);
+
+    void replaceAll(List<Candle> candles);
+}
@@ -0,0 +1,118 @@
+package com.stockwatch.stockwatchpro.repositories;
+
+import com.stockwatch.stockwatchpro.candles.CandleContribution;
+import com.stockwatch.stockwatchpro.models.Candle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+public class CandleRepositoryImpl implements CandleRepositoryCustom {
+    private static final long BACKFILL_WRITER = 0L;
+    private static final String KEYS =
+            "unnest(?::int[], ?::varchar[], ?::bigint[]) AS k(stock_id, bar_interval, open_time)";
+    private static final String UPSERT_CONTRIBUTION_SQL =
+            "INSERT INTO candle_contributions (stock_id, bar_interval, open_time, writer_epoch, writer_sequence, " +
+            "first_tick_at, last_tick_at, open_price, high_price, low_price, close_price, volume) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (stock_id, bar_interval, open_time, writer_epoch) DO UPDATE SET " +
+            "writer_sequence = EXCLUDED.writer_sequence, first_tick_at = EXCLUDED.first_tick_at, " +
+            "last_tick_at = EXCLUDED.last_tick_at, open_price = EXCLUDED.open_price, high_price = EXCLUDED.high_price, " +
+            "low_price = EXCLUDED.low_price, close_price = EXCLUDED.close_price, volume = EXCLUDED.volume " +
+            "WHERE candle_contributions.writer_sequence < EXCLUDED.writer_sequence";
+    private static final String DELETE_CONTRIBUTIONS_SQL =
+            "DELETE FROM candle_contributions c USING " + KEYS + " " +
+            "WHERE c.stock_id = k.stock_id AND c.bar_interval = k.bar_interval AND c.open_time = k.open_time";
+    private static final String REFRESH_CANDLES_SQL =
+            "INSERT INTO candles (stock_id, bar_interval, open_time, open_price, high_price, low_price, close_price, volume) " +
+            "SELECT c.stock_id, c.bar_interval, c.open_time, " +
+            "(array_agg(c.open_price ORDER BY c.first_tick_at, c.writer_epoch))[1], " +
+            "max(c.high_price), min(c.low_price), " +
+            "(array_agg(c.close_price ORDER BY c.last_tick_at DESC, c.writer_epoch DESC))[1], " +
+            "sum(c.volume) " +
+            "FROM candle_contributions c JOIN " + KEYS + " " +
+            "ON c.stock_id = k.stock_id AND c.bar_interval = k.bar_interval AND c.open_time = k.open_time " +
+            "GROUP BY c.stock_id, c.bar_interval, c.open_time " +
+            "ON CONFLICT (stock_id, bar_interval, open_time) DO UPDATE SET " +
+            "open_price = EXCLUDED.open_price, high_price = EXCLUDED.high_price, low_price = EXCLUDED.low_price, " +
+            "close_price = EXCLUDED.close_price, volume = EXCLUDED.volume";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CandleRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void writeContributions(long writerEpoch, List<CandleContribution> contributions) {
+        jdbcTemplate.batchUpdate(UPSERT_CONTRIBUTION_SQL, contributions, contributions.size(), (statement, contribution) -> {
+            Candle candle = contribution.candle();
+            bindContribution(statement, candle, writerEpoch, contribution.sequence(),
+                    contribution.firstTickAt(), contribution.lastTickAt());
+        });
+        refresh(contributions.stream().map(CandleContribution::candle).toList());
+    }
+
+    @Override
+    @Transactional
+    public void replaceAll(List<Candle> candles) {
+        updateKeys(DELETE_CONTRIBUTIONS_SQL, candles);
+        jdbcTemplate.batchUpdate(UPSERT_CONTRIBUTION_SQL, candles, candles.size(), (statement, candle) ->
+                bindContribution(statement, candle, BACKFILL_WRITER, 0L, candle.getOpenTime(), candle.getOpenTime()));
+        refresh(candles);
+    }
+
+    private void refresh(List<Candle> candles) {
+        updateKeys(REFRESH_CANDLES_SQL, candles);
+    }
+
+    private void updateKeys(String sql, List<Candle> candles) {
+        Set<List<Object>> keys = new LinkedHashSet<>();
+        for (Candle candle : candles) {
+            keys.add(List.of(candle.getStockId(), candle.getInterval().name(), candle.getOpenTime()));
+        }
+        Object[] stockIds = new Object[keys.size()];
+        Object[] intervals = new Object[keys.size()];
+        Object[] openTimes = new Object[keys.size()];
+        int i = 0;
+        for (List<Object> key : keys) {
+            stockIds[i] = key.get(0);
+            intervals[i] = key.get(1);
+            openTimes[i] = key.get(2);
+            i++;
+        }
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            bindKeys(connection, statement, stockIds, intervals, openTimes);
+            return statement;
+        });
+    }
+
+    private static void bindKeys(Connection connection, PreparedStatement statement,
+                                 Object[] stockIds, Object[] intervals, Object[] openTimes) throws SQLException {
+        statement.setArray(1, connection.createArrayOf("integer", stockIds));
+        statement.setArray(2, connection.createArrayOf("varchar", intervals));
+        statement.setArray(3, connection.createArrayOf("bigint", openTimes));
+    }
+
+    private static void bindContribution(PreparedStatement statement, Candle candle, long writerEpoch, long sequence,
+                                         long firstTickAt, long lastTickAt) throws SQLException {
+        statement.setInt(1, candle.getStockId());
+        statement.setString(2, candle.getInterval().name());
+        statement.setLong(3, candle.getOpenTime());
+        statement.setLong(4, writerEpoch);
+        statement.setLong(5, sequence);
+        statement.setLong(6, firstTickAt);
+        statement.setLong(7, lastTickAt);
+        statement.setBigDecimal(8, candle.getOpen());
+        statement.setBigDecimal(9, candle.getHigh());
+        statement.setBigDecimal(10, candle.getLow());
+        statement.setBigDecimal(11, candle.getClose());
+        statement.setLong(12, candle.getVolume());
+    }
+}
@@ -1,18 +1,26 @@
 package com.stockwatch.stockwatchpro.repositories;
 
 import com.stockwatch.stockwatchpro.models.Comment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface CommentRepository extends JpaRepository<Comment, Integer> {
-    @Query("SELECT c FROM Comment c WHERE c.stockId = :stockId ORDER BY c.createdTime DESC")
-    List<Comment> findByStockIdOrderByCreatedTimeDesc(@Param("stockId") Integer stockId);
+public interface CommentRepository extends JpaRepository<Comment, Integer>, CommentRepositoryCustom {
+    @Query("SELECT c FROM Comment c WHERE c.stockId = :stockId ORDER BY c.createdTime DESC, c.id DESC")
+    List<Comment> findFeedFirstPage(@Param("stockId") Integer stockId, Pageable pageable);
 
-    @Query("SELECT COUNT(c) FROM Comment c WHERE c.stockId = :stockId")
+    @Query("SELECT c FROM Comment c WHERE c.stockId = :stockId AND (c.createdTime, c.id) < (:createdTime, :id) " +
+            "ORDER BY c.createdTime DESC, c.id DESC")
+    List<Comment> findFeedPageBefore(@Param("stockId") Integer stockId, @Param("createdTime") LocalDateTime createdTime,
+                                     @Param("id") Integer id, Pageable pageable);
+
+    @Query(value = "SELECT COALESCE((SELECT comment_count FROM stock_comment_counts WHERE stock_id = :stockId), 0)",
+            nativeQuery = true)
     long countByStockId(@Param("stockId") Integer stockId);
 }
@@ -0,0 +1,5 @@
+package com.stockwatch.stockwatchpro.repositories;
+
+public interface CommentRepositoryCustom {
+    void adjustCommentCount(Integer stockId, long delta);
+}
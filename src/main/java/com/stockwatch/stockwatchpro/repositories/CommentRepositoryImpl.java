@@ -0,0 +1,20 @@
+package com.stockwatch.stockwatchpro.repositories;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+public class CommentRepositoryImpl implements CommentRepositoryCustom {
+    private static final String ADJUST_COUNT_SQL =
+            "INSERT INTO stock_comment_counts (stock_id, comment_count) VALUES (?, ?) " +
+            "ON CONFLICT (stock_id) DO UPDATE SET comment_count = stock_comment_counts.comment_count + EXCLUDED.comment_count";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CommentRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void adjustCommentCount(Integer stockId, long delta) {
+        jdbcTemplate.update(ADJUST_COUNT_SQL, stockId, delta);
+    }
+}
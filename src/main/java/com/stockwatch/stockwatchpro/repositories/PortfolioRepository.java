@@ -10,13 +10,16 @@ import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
-public interface PortfolioRepository extends JpaRepository<Portfolio, PortfolioId> {
+public interface PortfolioRepository extends JpaRepository<Portfolio, PortfolioId>, PortfolioRepositoryCustom {
     @Query("SELECT p FROM Portfolio p WHERE p.appUserId = :userId")
     List<Portfolio> findByAppUserId(@Param("userId") String userId);
 
     @Query("SELECT p FROM Portfolio p WHERE p.stockId = :stockId")
     List<Portfolio> findByStockId(@Param("stockId") Integer stockId);
 
+    @Query("SELECT p.stockId FROM Portfolio p JOIN p.appUser u WHERE u.username = :username")
+    List<Integer> findStockIdsByUsername(@Param("username") String username);
+
     @Query("SELECT CASE WHEN COUNT(p) > 0 THEN true ELSE false END FROM Portfolio p WHERE p.appUserId = :userId AND p.stockId = :stockId")
     boolean existsByAppUserIdAndStockId(@Param("userId") String userId, @Param("stockId") Integer stockId);
 }
@@ -0,0 +1,15 @@
+package com.stockwatch.stockwatchpro.repositories;
+
+import com.stockwatch.stockwatchpro.dtos.PortfolioHoldingDto;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public interface PortfolioRepositoryCustom {
+    List<PortfolioHoldingDto> findHoldingsByUsername(String username);
+
+    Map<Integer, Boolean> addAllByUsername(String username, Integer[] stockIds);
+
+    Set<Integer> removeAllByUsername(String username, Integer[] stockIds);
+}
@@ -0,0 +1,86 @@
+package com.stockwatch.stockwatchpro.repositories;
+
+import com.stockwatch.stockwatchpro.dtos.PortfolioHoldingDto;
+import com.stockwatch.stockwatchpro.models.Candle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.PreparedStatement;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class PortfolioRepositoryImpl implements PortfolioRepositoryCustom {
+    private static final String HOLDINGS_SQL =
+            "SELECT s.id, s.symbol, s.company_name, s.industry, s.purchase, s.last_div, s.market_cap, " +
+            "c.close_price, c.open_time " +
+            "FROM users u " +
+            "JOIN portfolios p ON p.app_user_id = u.id " +
+            "JOIN stocks s ON s.id = p.stock_id " +
+            "LEFT JOIN LATERAL (" +
+            "SELECT close_price, open_time FROM candles " +
+            "WHERE stock_id = s.id AND bar_interval = ? ORDER BY open_time DESC LIMIT 1" +
+            ") c ON true " +
+            "WHERE u.username = ? " +
+            "ORDER BY s.symbol";
+    private static final String ADD_ALL_SQL =
+            "WITH requested AS (SELECT DISTINCT unnest(?::int[]) AS stock_id), " +
+            "valid AS (SELECT s.id FROM stocks s JOIN requested r ON r.stock_id = s.id), " +
+            "inserted AS (" +
+            "INSERT INTO portfolios (app_user_id, stock_id) " +
+            "SELECT u.id, v.id FROM users u CROSS JOIN valid v WHERE u.username = ? " +
+            "ON CONFLICT (app_user_id, stock_id) DO NOTHING RETURNING stock_id" +
+            ") " +
+            "SELECT v.id, i.stock_id IS NOT NULL AS inserted FROM valid v LEFT JOIN inserted i ON i.stock_id = v.id";
+    private static final String REMOVE_ALL_SQL =
+            "DELETE FROM portfolios p USING users u " +
+            "WHERE p.app_user_id = u.id AND u.username = ? AND p.stock_id = ANY(?::int[]) " +
+            "RETURNING p.stock_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PortfolioRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<PortfolioHoldingDto> findHoldingsByUsername(String username) {
+        return jdbcTemplate.query(HOLDINGS_SQL, (rs, rowNum) -> PortfolioHoldingDto.builder()
+                .stockId(rs.getInt("id"))
+                .symbol(rs.getString("symbol"))
+                .companyName(rs.getString("company_name"))
+                .industry(rs.getString("industry"))
+                .purchase(rs.getBigDecimal("purchase"))
+                .lastDiv(rs.getBigDecimal("last_div"))
+                .marketCap(rs.getObject("market_cap", Long.class))
+                .currentPrice(rs.getBigDecimal("close_price"))
+                .priceTime(rs.getObject("open_time", Long.class))
+                .build(), Candle.Interval.ONE_MINUTE.name(), username);
+    }
+
+    @Override
+    public Map<Integer, Boolean> addAllByUsername(String username, Integer[] stockIds) {
+        Map<Integer, Boolean> results = new HashMap<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(ADD_ALL_SQL);
+            statement.setArray(1, connection.createArrayOf("integer", stockIds));
+            statement.setString(2, username);
+            return statement;
+        }, (RowCallbackHandler) rs -> results.put(rs.getInt("id"), rs.getBoolean("inserted")));
+        return results;
+    }
+
+    @Override
+    public Set<Integer> removeAllByUsername(String username, Integer[] stockIds) {
+        Set<Integer> removed = new HashSet<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(REMOVE_ALL_SQL);
+            statement.setString(1, username);
+            statement.setArray(2, connection.createArrayOf("integer", stockIds));
+            return statement;
+        }, (RowCallbackHandler) rs -> removed.add(rs.getInt("stock_id")));
+        return removed;
+    }
+}
@@ -1,15 +1,18 @@
 package com.stockwatch.stockwatchpro.repositories;
 
+import com.stockwatch.stockwatchpro.alerts.ActiveAlertEntry;
 import com.stockwatch.stockwatchpro.models.PriceAlert;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface PriceAlertRepository extends JpaRepository<PriceAlert, Integer> {
+public interface PriceAlertRepository extends JpaRepository<PriceAlert, Integer>, PriceAlertRepositoryCustom {
     @Query("SELECT pa FROM PriceAlert pa WHERE pa.appUserId = :userId AND pa.isActive = true")
     List<PriceAlert> findActiveAlertsByUserId(@Param("userId") String userId);
 
@@ -21,4 +24,16 @@ public interface PriceAlertRepository extends JpaRepository<PriceAlert, Integer>
 
     @Query("SELECT pa FROM PriceAlert pa WHERE pa.stockId = :stockId")
     List<PriceAlert> findByStockId(@Param("stockId") Integer stockId);
+
+    @Query("SELECT new com.stockwatch.stockwatchpro.alerts.ActiveAlertEntry(pa.id, pa.stockId, pa.targetPrice, pa.alertType) " +
+            "FROM PriceAlert pa WHERE pa.isActive = true AND pa.id > :afterId ORDER BY pa.id")
+    List<ActiveAlertEntry> findActiveAlertEntriesAfterId(@Param("afterId") Integer afterId, Pageable pageable);
+
+    @Query("SELECT new com.stockwatch.stockwatchpro.alerts.ActiveAlertEntry(pa.id, pa.stockId, pa.targetPrice, pa.alertType) " +
+            "FROM PriceAlert pa WHERE pa.isActive = true AND pa.id > :afterId " +
+            "AND MOD(pa.stockId, :partitionCount) IN :partitions ORDER BY pa.id")
+    List<ActiveAlertEntry> findActiveAlertEntriesInPartitionsAfterId(@Param("afterId") Integer afterId,
+                                                                     @Param("partitions") Collection<Integer> partitions,
+                                                                     @Param("partitionCount") int partitionCount,
+                                                                     Pageable pageable);
 }
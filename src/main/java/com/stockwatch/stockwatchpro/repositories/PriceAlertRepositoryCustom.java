@@ -0,0 +1,8 @@
+package com.stockwatch.stockwatchpro.repositories;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public interface PriceAlertRepositoryCustom {
+    int markTriggered(Integer[] alertIds, LocalDateTime[] triggeredAt, BigDecimal[] prices, LocalDateTime[] observedAt);
+}
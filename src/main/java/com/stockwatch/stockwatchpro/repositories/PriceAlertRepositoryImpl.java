@@ -0,0 +1,53 @@
+package com.stockwatch.stockwatchpro.repositories;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+public class PriceAlertRepositoryImpl implements PriceAlertRepositoryCustom {
+    private static final String MARK_TRIGGERED_SQL =
+            "WITH triggered AS (" +
+            "UPDATE price_alerts pa SET is_active = false, triggered_at = t.triggered_at " +
+            "FROM unnest(?::int[], ?::timestamp[], ?::numeric[], ?::timestamp[]) AS t(id, triggered_at, price, observed_at) " +
+            "WHERE pa.id = t.id AND pa.is_active = true " +
+            "AND (pa.updated_at IS NULL OR pa.updated_at < t.observed_at) " +
+            "RETURNING pa.id, pa.app_user_id, pa.stock_id, pa.alert_type, pa.target_price, t.price, pa.triggered_at) " +
+            "INSERT INTO alert_notification_outbox " +
+            "(app_user_id, alert_id, stock_id, alert_type, target_price, triggered_price, triggered_at) " +
+            "SELECT app_user_id, id, stock_id, alert_type, target_price, price, triggered_at FROM triggered";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PriceAlertRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int markTriggered(Integer[] alertIds, LocalDateTime[] triggeredAt, BigDecimal[] prices, LocalDateTime[] observedAt) {
+        Timestamp[] timestamps = toTimestamps(triggeredAt);
+        Timestamp[] observedTimestamps = toTimestamps(observedAt);
+        return jdbcTemplate.update(connection -> {
+            Array ids = connection.createArrayOf("integer", alertIds);
+            Array times = connection.createArrayOf("timestamp", timestamps);
+            Array triggeredPrices = connection.createArrayOf("numeric", prices);
+            Array observed = connection.createArrayOf("timestamp", observedTimestamps);
+            var statement = connection.prepareStatement(MARK_TRIGGERED_SQL);
+            statement.setArray(1, ids);
+            statement.setArray(2, times);
+            statement.setArray(3, triggeredPrices);
+            statement.setArray(4, observed);
+            return statement;
+        });
+    }
+
+    private static Timestamp[] toTimestamps(LocalDateTime[] times) {
+        Timestamp[] timestamps = new Timestamp[times.length];
+        for (int i = 0; i < times.length; i++) {
+            timestamps[i] = Timestamp.valueOf(times[i]);
+        }
+        return timestamps;
+    }
+}
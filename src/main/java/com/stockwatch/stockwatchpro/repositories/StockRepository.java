@@ -1,6 +1,7 @@
 package com.stockwatch.stockwatchpro.repositories;
 
 import com.stockwatch.stockwatchpro.models.Stock;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -10,12 +11,24 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface StockRepository extends JpaRepository<Stock, Integer> {
+public interface StockRepository extends JpaRepository<Stock, Integer>, StockRepositoryCustom {
     Optional<Stock> findBySymbol(String symbol);
     List<Stock> findByIndustry(String industry);
 
-    @Query("SELECT s FROM Stock s WHERE s.companyName ILIKE %:companyName%")
-    List<Stock> searchByCompanyName(@Param("companyName") String companyName);
-
     boolean existsBySymbol(String symbol);
+
+    @Query("SELECT s FROM Stock s WHERE s.id > :afterId ORDER BY s.id")
+    List<Stock> findPageAfterId(@Param("afterId") Integer afterId, Pageable pageable);
+
+    @Query("SELECT s FROM Stock s WHERE s.symbol > :afterSymbol ORDER BY s.symbol")
+    List<Stock> findPageAfterSymbol(@Param("afterSymbol") String afterSymbol, Pageable pageable);
+
+    @Query("SELECT s FROM Stock s WHERE s.industry = :industry AND s.id > :afterId ORDER BY s.id")
+    List<Stock> findIndustryPageAfterId(@Param("industry") String industry, @Param("afterId") Integer afterId, Pageable pageable);
+
+    @Query("SELECT s FROM Stock s WHERE s.industry = :industry AND s.symbol > :afterSymbol ORDER BY s.symbol")
+    List<Stock> findIndustryPageAfterSymbol(@Param("industry") String industry, @Param("afterSymbol") String afterSymbol, Pageable pageable);
+
+    @Query("SELECT s.id FROM Stock s ORDER BY s.id")
+    List<Integer> findAllIds();
 }
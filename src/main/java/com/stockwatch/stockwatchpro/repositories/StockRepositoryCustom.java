@@ -0,0 +1,12 @@
+package com.stockwatch.stockwatchpro.repositories;
+
+import com.stockwatch.stockwatchpro.models.Stock;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface StockRepositoryCustom {
+    void streamCatalog(String industry, Consumer<Stock> consumer);
+
+    List<Stock> searchByCompanyNameRanked(String companyName, int limit);
+}
@@ -0,0 +1,62 @@
+package com.stockwatch.stockwatchpro.repositories;
+
+import com.stockwatch.stockwatchpro.models.Stock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.function.Consumer;
+
+public class StockRepositoryImpl implements StockRepositoryCustom {
+    private static final String CATALOG_SQL =
+            "SELECT id, symbol, company_name, purchase, last_div, industry, market_cap, version FROM stocks";
+    private static final String RANKED_SEARCH_SQL = CATALOG_SQL +
+            " WHERE company_name ILIKE ? OR company_name % ?" +
+            " ORDER BY similarity(company_name, ?) DESC, id LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate cursorJdbcTemplate;
+
+    public StockRepositoryImpl(DataSource dataSource, @Value("${stocks.stream.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.cursorJdbcTemplate = new JdbcTemplate(dataSource);
+        this.cursorJdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    @Override
+    public void streamCatalog(String industry, Consumer<Stock> consumer) {
+        RowCallbackHandler handler = rs -> consumer.accept(mapStock(rs));
+        if (industry == null) {
+            cursorJdbcTemplate.query(CATALOG_SQL + " ORDER BY id", handler);
+        } else {
+            cursorJdbcTemplate.query(CATALOG_SQL + " WHERE industry = ? ORDER BY id", handler, industry);
+        }
+    }
+
+    @Override
+    public List<Stock> searchByCompanyNameRanked(String companyName, int limit) {
+        String pattern = "%" + escapeLike(companyName) + "%";
+        return jdbcTemplate.query(RANKED_SEARCH_SQL, (rs, rowNum) -> mapStock(rs), pattern, companyName, companyName, limit);
+    }
+
+    private static Stock mapStock(ResultSet rs) throws SQLException {
+        return Stock.builder()
+                .id(rs.getInt("id"))
+                .symbol(rs.getString("symbol"))
+                .companyName(rs.getString("company_name"))
+                .purchase(rs.getBigDecimal("purchase"))
+                .lastDiv(rs.getBigDecimal("last_div"))
+                .industry(rs.getString("industry"))
+                .marketCap(rs.getObject("market_cap", Long.class))
+                .version(rs.getLong("version"))
+                .build();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,368 @@
+package com.stockwatch.stockwatchpro.search;
+
+import com.stockwatch.stockwatchpro.dtos.StockDto;
+import com.stockwatch.stockwatchpro.repositories.StockRepository;
+import com.stockwatch.stockwatchpro.services.StockChangeListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+public class AutocompleteIndex implements StockChangeListener {
+    private static final Logger log = LoggerFactory.getLogger(AutocompleteIndex.class);
+    private static final StockDto[] NO_STOCKS = new StockDto[0];
+    private static final Comparator<StockDto> BY_MARKET_CAP = Comparator
+            .comparing(StockDto::getMarketCap, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(StockDto::getSymbol)
+            .thenComparing(StockDto::getId);
+
+    private final StockRepository stockRepository;
+    private final int maxSuggestions;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<Integer, StockDto> entries = new HashMap<>();
+    private Node root = new Node("");
+    private volatile boolean ready;
+
+    public AutocompleteIndex(StockRepository stockRepository,
+                             @Value("${autocomplete.max-suggestions:10}") int maxSuggestions) {
+        this.stockRepository = stockRepository;
+        this.maxSuggestions = maxSuggestions;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void build() {
+        List<StockDto> stocks = new ArrayList<>();
+        stockRepository.streamCatalog(null, stock -> stocks.add(StockDto.from(stock)));
+        replaceAll(stocks);
+        ready = true;
+        log.info("Built autocomplete index over {} stocks", stocks.size());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int getMaxSuggestions() {
+        return maxSuggestions;
+    }
+
+    public List<StockDto> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            int depth = 0;
+            while (depth < key.length()) {
+                node = node.child(key.charAt(depth));
+                if (node == null) {
+                    return List.of();
+                }
+                int matched = commonPrefix(node.label, key, depth);
+                if (matched < node.label.length() && depth + matched < key.length()) {
+                    return List.of();
+                }
+                depth += matched;
+            }
+            StockDto[] top = node.top;
+            return List.of(Arrays.copyOf(top, Math.min(limit, top.length)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onStockSaved(StockDto stock) {
+        Set<String> keys = keys(stock);
+        lock.writeLock().lock();
+        try {
+            StockDto previous = entries.put(stock.getId(), stock);
+            if (previous != null) {
+                keys(previous).forEach(key -> remove(root, key, previous.getId()));
+            }
+            keys.forEach(key -> insert(root, key, stock));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onStockDeleted(Integer stockId) {
+        lock.writeLock().lock();
+        try {
+            StockDto previous = entries.remove(stockId);
+            if (previous != null) {
+                keys(previous).forEach(key -> remove(root, key, stockId));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onCatalogReloaded(List<StockDto> stocks) {
+        replaceAll(stocks);
+    }
+
+    private void replaceAll(List<StockDto> stocks) {
+        Map<Integer, StockDto> rebuiltEntries = new HashMap<>(stocks.size() * 2);
+        Node rebuiltRoot = new Node("");
+        for (StockDto stock : stocks) {
+            StockDto previous = rebuiltEntries.put(stock.getId(), stock);
+            if (previous != null) {
+                keys(previous).forEach(key -> remove(rebuiltRoot, key, previous.getId()));
+            }
+            keys(stock).forEach(key -> insert(rebuiltRoot, key, stock));
+        }
+        lock.writeLock().lock();
+        try {
+            entries = rebuiltEntries;
+            root = rebuiltRoot;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void insert(Node root, String key, StockDto stock) {
+        Node node = root;
+        node.offer(stock, maxSuggestions);
+        int depth = 0;
+        while (depth < key.length()) {
+            int index = node.indexOf(key.charAt(depth));
+            if (index < 0) {
+                Node leaf = new Node(key.substring(depth));
+                node.insertChild(-(index + 1), leaf);
+                node = leaf;
+                node.offer(stock, maxSuggestions);
+                break;
+            }
+            Node child = node.children[index];
+            int matched = commonPrefix(child.label, key, depth);
+            if (matched < child.label.length()) {
+                child = node.split(index, matched);
+            }
+            child.offer(stock, maxSuggestions);
+            node = child;
+            depth += matched;
+        }
+        node.addTerminal(stock);
+    }
+
+    private void remove(Node root, String key, Integer stockId) {
+        List<Node> path = new ArrayList<>();
+        path.add(root);
+        Node node = root;
+        int depth = 0;
+        while (depth < key.length()) {
+            node = node.child(key.charAt(depth));
+            if (node == null || commonPrefix(node.label, key, depth) < node.label.length()) {
+                return;
+            }
+            path.add(node);
+            depth += node.label.length();
+        }
+        if (!node.removeTerminal(stockId)) {
+            return;
+        }
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node current = path.get(i);
+            if (current.contains(stockId)) {
+                current.recompute(maxSuggestions);
+            }
+        }
+        for (int i = path.size() - 1; i > 0; i--) {
+            Node current = path.get(i);
+            Node parent = path.get(i - 1);
+            if (current.terminals == null && current.children.length == 0) {
+                parent.removeChild(current);
+            } else if (current.terminals == null && current.children.length == 1) {
+                parent.replaceChild(current, current.mergeWithOnlyChild());
+            }
+        }
+    }
+
+    private static int commonPrefix(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int matched = 0;
+        while (matched < max && label.charAt(matched) == key.charAt(offset + matched)) {
+            matched++;
+        }
+        return matched;
+    }
+
+    private static StockDto[] offer(StockDto[] top, StockDto stock, int max) {
+        for (StockDto existing : top) {
+            if (existing.getId().equals(stock.getId())) {
+                return top;
+            }
+        }
+        int low = 0;
+        int high = top.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (BY_MARKET_CAP.compare(top[mid], stock) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        if (low >= max) {
+            return top;
+        }
+        StockDto[] merged = new StockDto[Math.min(top.length + 1, max)];
+        System.arraycopy(top, 0, merged, 0, low);
+        merged[low] = stock;
+        System.arraycopy(top, low, merged, low + 1, merged.length - low - 1);
+        return merged;
+    }
+
+    static Set<String> keys(StockDto stock) {
+        Set<String> keys = new LinkedHashSet<>();
+        keys.add(normalize(stock.getSymbol()));
+        String name = normalize(stock.getCompanyName());
+        keys.add(name);
+        for (int i = name.indexOf(' '); i >= 0; i = name.indexOf(' ', i + 1)) {
+            keys.add(name.substring(i + 1));
+        }
+        keys.remove("");
+        return keys;
+    }
+
+    static String normalize(String text) {
+        return text == null ? "" : text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Node {
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private String label;
+        private Node[] children = NO_CHILDREN;
+        private List<StockDto> terminals;
+        private StockDto[] top = NO_STOCKS;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        Node child(char first) {
+            int index = indexOf(first);
+            return index >= 0 ? children[index] : null;
+        }
+
+        int indexOf(char first) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char label = children[mid].label.charAt(0);
+                if (label < first) {
+                    low = mid + 1;
+                } else if (label > first) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        void offer(StockDto stock, int max) {
+            top = AutocompleteIndex.offer(top, stock, max);
+        }
+
+        boolean contains(Integer stockId) {
+            for (StockDto stock : top) {
+                if (stock.getId().equals(stockId)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void recompute(int max) {
+            StockDto[] rebuilt = NO_STOCKS;
+            if (terminals != null) {
+                for (StockDto stock : terminals) {
+                    rebuilt = AutocompleteIndex.offer(rebuilt, stock, max);
+                }
+            }
+            for (Node child : children) {
+                for (StockDto stock : child.top) {
+                    rebuilt = AutocompleteIndex.offer(rebuilt, stock, max);
+                }
+            }
+            top = rebuilt;
+        }
+
+        void addTerminal(StockDto stock) {
+            if (terminals == null) {
+                terminals = new ArrayList<>(1);
+            }
+            terminals.add(stock);
+        }
+
+        boolean removeTerminal(Integer stockId) {
+            if (terminals == null || !terminals.removeIf(stock -> stock.getId().equals(stockId))) {
+                return false;
+            }
+            if (terminals.isEmpty()) {
+                terminals = null;
+            }
+            return true;
+        }
+
+        Node split(int index, int at) {
+            Node child = children[index];
+            Node prefix = new Node(child.label.substring(0, at));
+            child.label = child.label.substring(at);
+            prefix.children = new Node[]{child};
+            prefix.top = child.top;
+            children[index] = prefix;
+            return prefix;
+        }
+
+        Node mergeWithOnlyChild() {
+            Node only = children[0];
+            only.label = label + only.label;
+            return only;
+        }
+
+        void insertChild(int insertAt, Node child) {
+            Node[] grown = new Node[children.length + 1];
+            System.arraycopy(children, 0, grown, 0, insertAt);
+            grown[insertAt] = child;
+            System.arraycopy(children, insertAt, grown, insertAt + 1, children.length - insertAt);
+            children = grown;
+        }
+
+        void replaceChild(Node previous, Node replacement) {
+            children[indexOf(previous.label.charAt(0))] = replacement;
+        }
+
+        void removeChild(Node child) {
+            int index = indexOf(child.label.charAt(0));
+            Node[] shrunk = children.length == 1 ? NO_CHILDREN : new Node[children.length - 1];
+            System.arraycopy(children, 0, shrunk, 0, index);
+            System.arraycopy(children, index + 1, shrunk, index, children.length - index - 1);
+            children = shrunk;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.stockwatch.stockwatchpro.search;
+
+import com.stockwatch.stockwatchpro.dtos.StockDto;
+import com.stockwatch.stockwatchpro.repositories.StockRepository;
+import com.stockwatch.stockwatchpro.services.StockChangeListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+public class CompanyNameIndex implements StockChangeListener {
+    private static final Logger log = LoggerFactory.getLogger(CompanyNameIndex.class);
+
+    private final StockRepository stockRepository;
+    private final boolean enabled;
+    private final double similarityThreshold;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, Entry> entries = new HashMap<>();
+    private final Map<String, Set<Integer>> postings = new HashMap<>();
+    private volatile boolean ready;
+
+    public CompanyNameIndex(StockRepository stockRepository,
+                            @Value("${search.in-memory.enabled:false}") boolean enabled,
+                            @Value("${search.similarity-threshold:0.3}") double similarityThreshold) {
+        this.stockRepository = stockRepository;
+        this.enabled = enabled;
+        this.similarityThreshold = similarityThreshold;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void build() {
+        if (!enabled) {
+            return;
+        }
+        stockRepository.streamCatalog(null, stock -> index(StockDto.from(stock)));
+        ready = true;
+        log.info("Built in-memory company name index over {} stocks and {} trigrams", entries.size(), postings.size());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public List<StockDto> search(String query, int limit) {
+        String needle = query.toLowerCase(Locale.ROOT);
+        Set<String> queryTrigrams = trigrams(query);
+
+        lock.readLock().lock();
+        try {
+            Map<Integer, Integer> shared = new HashMap<>();
+            for (String trigram : queryTrigrams) {
+                Set<Integer> ids = postings.get(trigram);
+                if (ids != null) {
+                    for (Integer id : ids) {
+                        shared.merge(id, 1, Integer::sum);
+                    }
+                }
+            }
+
+            List<Match> matches = new ArrayList<>();
+            for (Map.Entry<Integer, Integer> candidate : shared.entrySet()) {
+                Entry entry = entries.get(candidate.getKey());
+                int common = candidate.getValue();
+                double similarity = (double) common / (queryTrigrams.size() + entry.trigrams().size() - common);
+                if (similarity >= similarityThreshold || entry.lowerName().contains(needle)) {
+                    matches.add(new Match(entry.stock(), similarity));
+                }
+            }
+            if (needle.length() < 3) {
+                for (Entry entry : entries.values()) {
+                    if (!shared.containsKey(entry.stock().getId()) && entry.lowerName().contains(needle)) {
+                        matches.add(new Match(entry.stock(), 0));
+                    }
+                }
+            }
+
+            return matches.stream()
+                    .sorted(Comparator.comparingDouble(Match::similarity).reversed()
+                            .thenComparing(match -> match.stock().getId()))
+                    .limit(limit)
+                    .map(Match::stock)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onStockSaved(StockDto stock) {
+        if (enabled) {
+            index(stock);
+        }
+    }
+
+    @Override
+    public void onStockDeleted(Integer stockId) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeLocked(stockId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onCatalogReloaded(List<StockDto> stocks) {
+        if (!enabled) {
+            return;
+        }
+        Set<Integer> live = new HashSet<>();
+        stocks.forEach(stock -> live.add(stock.getId()));
+        lock.writeLock().lock();
+        try {
+            new ArrayList<>(entries.keySet()).stream()
+                    .filter(stockId -> !live.contains(stockId))
+                    .forEach(this::removeLocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        stocks.forEach(this::index);
+    }
+
+    private void index(StockDto stock) {
+        Entry entry = new Entry(stock, stock.getCompanyName().toLowerCase(Locale.ROOT), trigrams(stock.getCompanyName()));
+        lock.writeLock().lock();
+        try {
+            removeLocked(stock.getId());
+            entries.put(stock.getId(), entry);
+            for (String trigram : entry.trigrams()) {
+                postings.computeIfAbsent(trigram, key -> new HashSet<>()).add(stock.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeLocked(Integer stockId) {
+        Entry previous = entries.remove(stockId);
+        if (previous == null) {
+            return;
+        }
+        for (String trigram : previous.trigrams()) {
+            Set<Integer> ids = postings.get(trigram);
+            if (ids != null && ids.remove(stockId) && ids.isEmpty()) {
+                postings.remove(trigram);
+            }
+        }
+    }
+
+    static Set<String> trigrams(String text) {
+        Set<String> result = new HashSet<>();
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                result.add(padded.substring(i, i + 3));
+            }
+        }
+        return result;
+    }
+
+    private record Entry(StockDto stock, String lowerName, Set<String> trigrams) {
+    }
+
+    private record Match(StockDto stock, double similarity) {
+    }
+}
@@ -26,12 +26,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = extractJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && jwtUtil.isTokenValid(jwt)) {
-                String username = jwtUtil.extractUsername(jwt);
-                Authentication authentication = new UsernamePasswordAuthenticationToken(
-                        username, null, new ArrayList<>()
-                );
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+            if (StringUtils.hasText(jwt)) {
+                jwtUtil.verifyAndExtractUsername(jwt).ifPresent(username -> {
+                    Authentication authentication = new UsernamePasswordAuthenticationToken(
+                            username, null, new ArrayList<>()
+                    );
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                });
             }
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context", ex);
@@ -1,17 +1,31 @@
 package com.stockwatch.stockwatchpro.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Component
@@ -28,8 +42,59 @@ public class JwtUtil {
     @Value("${jwt.expiration}")
     private long expirationDays;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(signingKey.getBytes(StandardCharsets.UTF_8));
+    @Value("${jwt.cache.max-size:50000}")
+    private long cacheMaxSize;
+
+    private final MeterRegistry meterRegistry;
+    private final Timer cachedValidTimer;
+    private final Timer verifiedValidTimer;
+    private final Timer verifiedInvalidTimer;
+    private SecretKey secretKey;
+    private JwtParser jwtParser;
+    private Cache<TokenDigest, VerifiedToken> verifiedTokens;
+
+    public JwtUtil(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.cachedValidTimer = verificationTimer(meterRegistry, "hit", "valid");
+        this.verifiedValidTimer = verificationTimer(meterRegistry, "miss", "valid");
+        this.verifiedInvalidTimer = verificationTimer(meterRegistry, "miss", "invalid");
+    }
+
+    private static Timer verificationTimer(MeterRegistry meterRegistry, String cache, String outcome) {
+        return Timer.builder("jwt.verification")
+                .tag("cache", cache)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void init() {
+        secretKey = Keys.hmacShaKeyFor(signingKey.getBytes(StandardCharsets.UTF_8));
+        jwtParser = Jwts.parser()
+                .verifyWith(secretKey)
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new Expiry<TokenDigest, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(TokenDigest key, VerifiedToken value, long currentTime) {
+                        long remainingMillis = value.expiresAt() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(TokenDigest key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(TokenDigest key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt.verified-tokens");
     }
 
     public String generateToken(String username, String email) {
@@ -49,10 +114,38 @@ public class JwtUtil {
                 .expiration(expiryDate)
                 .issuer(issuer)
                 .audience().add(audience).and()
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .signWith(secretKey, SignatureAlgorithm.HS512)
                 .compact();
     }
 
+    public Optional<String> verifyAndExtractUsername(String token) {
+        long start = System.nanoTime();
+        TokenDigest digest = TokenDigest.of(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null && cached.expiresAt() > System.currentTimeMillis()) {
+            cachedValidTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return Optional.of(cached.username());
+        }
+
+        Optional<String> username = verify(digest, token);
+        (username.isPresent() ? verifiedValidTimer : verifiedInvalidTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return username;
+    }
+
+    private Optional<String> verify(TokenDigest digest, String token) {
+        Claims claims;
+        try {
+            claims = extractAllClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        if (claims.getSubject() == null || claims.getExpiration() == null) {
+            return Optional.empty();
+        }
+        verifiedTokens.put(digest, new VerifiedToken(claims.getSubject(), claims.getExpiration().getTime()));
+        return Optional.of(claims.getSubject());
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -71,31 +164,29 @@ public class JwtUtil {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return jwtParser.parseSignedClaims(token).getPayload();
     }
 
     public boolean isTokenValid(String token, String username) {
-        final String extractedUsername = extractUsername(token);
-        return extractedUsername.equals(username) && !isTokenExpired(token);
+        return verifyAndExtractUsername(token).map(username::equals).orElse(false);
     }
 
     public boolean isTokenValid(String token) {
-        try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return !isTokenExpired(token);
-        } catch (Exception e) {
-            return false;
+        return verifyAndExtractUsername(token).isPresent();
+    }
+
+    private record VerifiedToken(String username, long expiresAt) {
+    }
+
+    private record TokenDigest(long a, long b, long c, long d) {
+        static TokenDigest of(String token) {
+            try {
+                byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+                ByteBuffer buffer = ByteBuffer.wrap(hash);
+                return new TokenDigest(buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong());
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
         }
     }
 }
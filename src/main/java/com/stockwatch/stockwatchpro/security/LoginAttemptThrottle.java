@@ -0,0 +1,86 @@
+package com.stockwatch.stockwatchpro.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+public class LoginAttemptThrottle {
+    private final Cache<String, AtomicInteger> failuresByIp;
+    private final Cache<String, AtomicInteger> failuresByAccount;
+    private final int maxFailuresPerIp;
+    private final int maxFailuresPerAccount;
+    private final long windowSeconds;
+    private final Counter ipThrottled;
+    private final Counter accountThrottled;
+
+    public LoginAttemptThrottle(@Value("${security.login.max-failures-per-ip:100}") int maxFailuresPerIp,
+                                @Value("${security.login.max-failures-per-account:5}") int maxFailuresPerAccount,
+                                @Value("${security.login.window-seconds:300}") long windowSeconds,
+                                @Value("${security.login.tracked-keys.max-size:100000}") long maxTrackedKeys,
+                                MeterRegistry meterRegistry) {
+        this.maxFailuresPerIp = maxFailuresPerIp;
+        this.maxFailuresPerAccount = maxFailuresPerAccount;
+        this.windowSeconds = windowSeconds;
+        this.failuresByIp = window(windowSeconds, maxTrackedKeys);
+        this.failuresByAccount = window(windowSeconds, maxTrackedKeys);
+        this.ipThrottled = throttled(meterRegistry, "ip");
+        this.accountThrottled = throttled(meterRegistry, "account");
+    }
+
+    private static Cache<String, AtomicInteger> window(long windowSeconds, long maxTrackedKeys) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxTrackedKeys)
+                .expireAfterWrite(Duration.ofSeconds(windowSeconds))
+                .build();
+    }
+
+    private static Counter throttled(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("login.throttled")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    public void acquire(String ip, String account) {
+        if (exceeded(failuresByIp, ip, maxFailuresPerIp)) {
+            ipThrottled.increment();
+            throw new LoginThrottledException("Too many failed attempts from " + ip, windowSeconds);
+        }
+        if (account != null && exceeded(failuresByAccount, normalize(account), maxFailuresPerAccount)) {
+            accountThrottled.increment();
+            throw new LoginThrottledException("Too many failed attempts for account", windowSeconds);
+        }
+    }
+
+    public void recordFailure(String ip, String account) {
+        if (maxFailuresPerIp > 0) {
+            failuresByIp.get(ip, key -> new AtomicInteger()).incrementAndGet();
+        }
+        if (account != null && maxFailuresPerAccount > 0) {
+            failuresByAccount.get(normalize(account), key -> new AtomicInteger()).incrementAndGet();
+        }
+    }
+
+    public void recordSuccess(String account) {
+        failuresByAccount.invalidate(normalize(account));
+    }
+
+    private static boolean exceeded(Cache<String, AtomicInteger> failures, String key, int limit) {
+        if (limit <= 0) {
+            return false;
+        }
+        AtomicInteger count = failures.getIfPresent(key);
+        return count != null && count.get() >= limit;
+    }
+
+    private static String normalize(String account) {
+        return account.trim().toLowerCase(Locale.ROOT);
+    }
+}
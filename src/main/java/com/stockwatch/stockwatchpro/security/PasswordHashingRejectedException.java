@@ -0,0 +1,7 @@
+package com.stockwatch.stockwatchpro.security;
+
+public class PasswordHashingRejectedException extends RuntimeException {
+    public PasswordHashingRejectedException(String message) {
+        super(message);
+    }
+}
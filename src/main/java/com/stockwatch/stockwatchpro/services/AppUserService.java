@@ -5,6 +5,7 @@ import com.stockwatch.stockwatchpro.models.AppUser;
 import com.stockwatch.stockwatchpro.repositories.AppUserRepository;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
@@ -22,6 +23,7 @@ public class AppUserService {
         this.passwordEncoder = passwordEncoder;
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public AppUser registerUser(RegisterDto registerDto) {
         if (appUserRepository.existsByEmail(registerDto.getEmail())) {
             throw new IllegalArgumentException("Email already in use");
@@ -54,6 +56,13 @@ public class AppUserService {
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
     }
 
+    public String getUserId(String username) {
+        return appUserRepository.findByUsername(username)
+                .map(AppUser::getId)
+                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public boolean validatePassword(String rawPassword, String encodedPassword) {
         return passwordEncoder.matches(rawPassword, encodedPassword);
     }
@@ -0,0 +1,105 @@
+package com.stockwatch.stockwatchpro.services;
+
+import com.stockwatch.stockwatchpro.candles.CandleAggregator;
+import com.stockwatch.stockwatchpro.candles.CandleBackfill;
+import com.stockwatch.stockwatchpro.dtos.CandleBackfillDto;
+import com.stockwatch.stockwatchpro.dtos.CandleDto;
+import com.stockwatch.stockwatchpro.models.Candle;
+import com.stockwatch.stockwatchpro.repositories.CandleRepository;
+import com.stockwatch.stockwatchpro.repositories.StockRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@Service
+public class CandleService {
+    private final CandleRepository candleRepository;
+    private final StockRepository stockRepository;
+    private final StockService stockService;
+    private final CandleAggregator candleAggregator;
+    private final CandleBackfill candleBackfill;
+    private final int maxCandles;
+
+    public CandleService(CandleRepository candleRepository, StockRepository stockRepository, StockService stockService,
+                         CandleAggregator candleAggregator, CandleBackfill candleBackfill,
+                         @Value("${candles.max-per-request:5000}") int maxCandles) {
+        this.candleRepository = candleRepository;
+        this.stockRepository = stockRepository;
+        this.stockService = stockService;
+        this.candleAggregator = candleAggregator;
+        this.candleBackfill = candleBackfill;
+        this.maxCandles = maxCandles;
+    }
+
+    @Transactional(readOnly = true)
+    public List<CandleDto> getCandles(Integer stockId, String intervalCode, Long from, Long to, int limit) {
+        stockService.getStockById(stockId);
+        Candle.Interval interval = Candle.Interval.fromCode(intervalCode);
+        long fromTime = from != null ? from : 0L;
+        long toTime = to != null ? to : Long.MAX_VALUE;
+        int size = Math.min(Math.max(limit, 1), maxCandles);
+
+        List<Candle> candles = new ArrayList<>(candleRepository.findLatestInRange(
+                stockId, interval, fromTime, toTime, PageRequest.of(0, size)));
+        Collections.reverse(candles);
+
+        candleAggregator.currentBar(stockId, interval)
+                .filter(bar -> bar.getOpenTime() >= fromTime && bar.getOpenTime() <= toTime)
+                .ifPresent(bar -> {
+                    Candle current = bar;
+                    if (!candles.isEmpty() && candles.get(candles.size() - 1).getOpenTime().equals(bar.getOpenTime())) {
+                        current = merge(candles.remove(candles.size() - 1), bar);
+                    }
+                    candles.add(current);
+                    if (candles.size() > size) {
+                        candles.remove(0);
+                    }
+                });
+
+        return candles.stream()
+                .map(this::mapToDto)
+                .collect(Collectors.toList());
+    }
+
+    public CandleBackfillDto backfill(List<Integer> stockIds, Long from, Long to) {
+        List<Integer> targets = stockIds == null || stockIds.isEmpty() ? stockRepository.findAllIds() : stockIds;
+        return candleBackfill.submit(targets, from, to);
+    }
+
+    public Optional<CandleBackfillDto> getBackfill(String id) {
+        return candleBackfill.status(id);
+    }
+
+    private Candle merge(Candle persisted, Candle live) {
+        return Candle.builder()
+                .stockId(live.getStockId())
+                .interval(live.getInterval())
+                .openTime(live.getOpenTime())
+                .open(persisted.getOpen())
+                .high(persisted.getHigh().max(live.getHigh()))
+                .low(persisted.getLow().min(live.getLow()))
+                .close(live.getClose())
+                .volume(persisted.getVolume() + live.getVolume())
+                .build();
+    }
+
+    private CandleDto mapToDto(Candle candle) {
+        return CandleDto.builder()
+                .stockId(candle.getStockId())
+                .interval(candle.getInterval().getCode())
+                .openTime(candle.getOpenTime())
+                .open(candle.getOpen())
+                .high(candle.getHigh())
+                .low(candle.getLow())
+                .close(candle.getClose())
+                .volume(candle.getVolume())
+                .build();
+    }
+}
@@ -1,13 +1,22 @@
 package com.stockwatch.stockwatchpro.services;
 
+import com.stockwatch.stockwatchpro.cache.CacheInvalidationPublisher;
+import com.stockwatch.stockwatchpro.cache.CommentFeedCache;
+import com.stockwatch.stockwatchpro.cache.EntityChange;
 import com.stockwatch.stockwatchpro.dtos.CommentDto;
+import com.stockwatch.stockwatchpro.dtos.CommentPageDto;
 import com.stockwatch.stockwatchpro.models.Comment;
 import com.stockwatch.stockwatchpro.repositories.CommentRepository;
-import com.stockwatch.stockwatchpro.repositories.StockRepository;
+import com.stockwatch.stockwatchpro.support.KeysetCursor;
+import com.stockwatch.stockwatchpro.support.TransactionHooks;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -15,16 +24,22 @@ import java.util.stream.Collectors;
 @Transactional
 public class CommentService {
     private final CommentRepository commentRepository;
-    private final StockRepository stockRepository;
+    private final StockService stockService;
+    private final CommentFeedCache commentFeedCache;
+    private final int maxPageSize;
+    private final CacheInvalidationPublisher invalidationPublisher;
 
-    public CommentService(CommentRepository commentRepository, StockRepository stockRepository) {
+    public CommentService(CommentRepository commentRepository, StockService stockService, CommentFeedCache commentFeedCache,
+                          @Value("${comments.page.max-size:100}") int maxPageSize, CacheInvalidationPublisher invalidationPublisher) {
         this.commentRepository = commentRepository;
-        this.stockRepository = stockRepository;
+        this.stockService = stockService;
+        this.commentFeedCache = commentFeedCache;
+        this.maxPageSize = maxPageSize;
+        this.invalidationPublisher = invalidationPublisher;
     }
 
     public CommentDto createComment(Integer stockId, String title, String content) {
-        stockRepository.findById(stockId)
-                .orElseThrow(() -> new IllegalArgumentException("Stock not found with id: " + stockId));
+        stockService.getStockById(stockId);
 
         Comment comment = Comment.builder()
                 .stockId(stockId)
@@ -34,6 +49,8 @@ public class CommentService {
                 .build();
 
         Comment savedComment = commentRepository.save(comment);
+        commentRepository.adjustCommentCount(stockId, 1);
+        feedChanged(stockId);
         return mapToDto(savedComment);
     }
 
@@ -43,13 +60,35 @@ public class CommentService {
         return mapToDto(comment);
     }
 
-    public List<CommentDto> getCommentsByStockId(Integer stockId) {
-        stockRepository.findById(stockId)
-                .orElseThrow(() -> new IllegalArgumentException("Stock not found with id: " + stockId));
+    @Transactional(readOnly = true)
+    public CommentPageDto getCommentsByStockId(Integer stockId, String cursor, int limit) {
+        if (limit < 1 || limit > maxPageSize) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + maxPageSize);
+        }
+        stockService.getStockById(stockId);
+
+        if (cursor == null && limit <= commentFeedCache.getPageSize()) {
+            CommentFeedCache.FeedPage cached = commentFeedCache.get(stockId).orElseGet(() -> loadFirstFeedPage(stockId));
+            return toPage(cached.items(), cached.hasMore(), limit);
+        }
+
+        Pageable page = PageRequest.of(0, limit + 1);
+        List<Comment> comments;
+        if (cursor == null) {
+            comments = commentRepository.findFeedFirstPage(stockId, page);
+        } else {
+            List<String> parts = KeysetCursor.decode(cursor, 2);
+            comments = commentRepository.findFeedPageBefore(stockId, parseCursorTime(parts.get(0)), parseCursorId(parts.get(1)), page);
+        }
+        boolean hasMore = comments.size() > limit;
+        List<CommentDto> items = comments.stream().limit(limit).map(this::mapToDto).collect(Collectors.toList());
+        return toPage(items, hasMore, limit);
+    }
 
-        return commentRepository.findByStockIdOrderByCreatedTimeDesc(stockId).stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public long getCommentCount(Integer stockId) {
+        stockService.getStockById(stockId);
+        return commentRepository.countByStockId(stockId);
     }
 
     public CommentDto updateComment(Integer id, String title, String content) {
@@ -64,6 +103,7 @@ public class CommentService {
         }
 
         Comment updatedComment = commentRepository.save(comment);
+        feedChanged(updatedComment.getStockId());
         return mapToDto(updatedComment);
     }
 
@@ -71,9 +111,54 @@ public class CommentService {
         Comment comment = commentRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Comment not found with id: " + id));
         commentRepository.delete(comment);
+        commentRepository.adjustCommentCount(comment.getStockId(), -1);
+        feedChanged(comment.getStockId());
+    }
+
+    private CommentFeedCache.FeedPage loadFirstFeedPage(Integer stockId) {
+        long version = commentFeedCache.version(stockId);
+        int pageSize = commentFeedCache.getPageSize();
+        List<Comment> comments = commentRepository.findFeedFirstPage(stockId, PageRequest.of(0, pageSize + 1));
+        List<CommentDto> items = comments.stream().limit(pageSize).map(this::mapToDto).collect(Collectors.toList());
+        return commentFeedCache.put(stockId, version, items, comments.size() > pageSize);
+    }
+
+    private CommentPageDto toPage(List<CommentDto> items, boolean hasMore, int limit) {
+        List<CommentDto> pageItems = items.size() > limit ? items.subList(0, limit) : items;
+        String nextCursor = null;
+        if ((hasMore || items.size() > limit) && !pageItems.isEmpty()) {
+            CommentDto last = pageItems.get(pageItems.size() - 1);
+            nextCursor = KeysetCursor.encode(last.getCreatedTime().toString(), last.getId().toString());
+        }
+        return CommentPageDto.builder()
+                .items(pageItems)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private void feedChanged(Integer stockId) {
+        commentFeedCache.bump(stockId);
+        TransactionHooks.afterCommit(() -> commentFeedCache.bump(stockId));
+        invalidationPublisher.publish(EntityChange.Type.COMMENT_FEED, stockId);
+    }
+
+    private LocalDateTime parseCursorTime(String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    private int parseCursorId(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
     }
 
-    private CommentDto mapToDto(Comment comment) {
+    CommentDto mapToDto(Comment comment) {
         return CommentDto.builder()
                 .id(comment.getId())
                 .title(comment.getTitle())
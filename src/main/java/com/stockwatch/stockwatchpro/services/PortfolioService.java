@@ -1,14 +1,30 @@
 package com.stockwatch.stockwatchpro.services;
 
-import com.stockwatch.stockwatchpro.models.AppUser;
+import com.stockwatch.stockwatchpro.cache.CacheInvalidationPublisher;
+import com.stockwatch.stockwatchpro.cache.EntityChange;
+import com.stockwatch.stockwatchpro.cache.ResourceVersions;
+import com.stockwatch.stockwatchpro.dtos.BulkPortfolioItemDto;
+import com.stockwatch.stockwatchpro.dtos.BulkPortfolioResultDto;
+import com.stockwatch.stockwatchpro.dtos.PortfolioHoldingDto;
+import com.stockwatch.stockwatchpro.dtos.PortfolioValuationDto;
+import com.stockwatch.stockwatchpro.marketdata.LastPriceBook;
+import com.stockwatch.stockwatchpro.marketdata.PriceTick;
 import com.stockwatch.stockwatchpro.models.Portfolio;
 import com.stockwatch.stockwatchpro.models.PortfolioId;
 import com.stockwatch.stockwatchpro.models.Stock;
 import com.stockwatch.stockwatchpro.repositories.PortfolioRepository;
+import com.stockwatch.stockwatchpro.support.TransactionHooks;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @Transactional
@@ -16,19 +32,29 @@ public class PortfolioService {
     private final PortfolioRepository portfolioRepository;
     private final AppUserService appUserService;
     private final StockService stockService;
+    private final LastPriceBook lastPriceBook;
+    private final int maxBulkItems;
+    private final ResourceVersions resourceVersions;
+    private final CacheInvalidationPublisher invalidationPublisher;
 
-    public PortfolioService(PortfolioRepository portfolioRepository, AppUserService appUserService, StockService stockService) {
+    public PortfolioService(PortfolioRepository portfolioRepository, AppUserService appUserService, StockService stockService,
+                            LastPriceBook lastPriceBook, @Value("${portfolio.bulk.max-items:1000}") int maxBulkItems,
+                            ResourceVersions resourceVersions, CacheInvalidationPublisher invalidationPublisher) {
         this.portfolioRepository = portfolioRepository;
         this.appUserService = appUserService;
         this.stockService = stockService;
+        this.lastPriceBook = lastPriceBook;
+        this.maxBulkItems = maxBulkItems;
+        this.resourceVersions = resourceVersions;
+        this.invalidationPublisher = invalidationPublisher;
     }
 
-    public Portfolio addStockToPortfolio(String userId, Integer stockId) {
+    public Portfolio addStockToPortfolio(String username, Integer stockId) {
+        String userId = appUserService.getUserId(username);
         if (portfolioRepository.existsByAppUserIdAndStockId(userId, stockId)) {
             throw new IllegalArgumentException("Stock already exists in portfolio");
         }
 
-        AppUser appUser = appUserService.findById(userId);
         stockService.getStockById(stockId);
 
         Portfolio portfolio = Portfolio.builder()
@@ -36,25 +62,135 @@ public class PortfolioService {
                 .stockId(stockId)
                 .build();
 
-        return portfolioRepository.save(portfolio);
+        Portfolio savedPortfolio = portfolioRepository.save(portfolio);
+        portfolioChanged(username);
+        return savedPortfolio;
     }
 
-    public void removeStockFromPortfolio(String userId, Integer stockId) {
-        Portfolio portfolio = portfolioRepository.findById(new PortfolioId(userId, stockId))
+    public BulkPortfolioResultDto addStocksToPortfolio(String username, List<Integer> stockIds) {
+        validateBulk(username, stockIds);
+        Map<Integer, Boolean> inserted = portfolioRepository.addAllByUsername(username, stockIds.toArray(Integer[]::new));
+        portfolioChanged(username);
+
+        List<BulkPortfolioItemDto> items = new ArrayList<>(stockIds.size());
+        Set<Integer> seen = new HashSet<>();
+        int applied = 0;
+        for (Integer stockId : stockIds) {
+            String status;
+            if (!seen.add(stockId)) {
+                status = "DUPLICATE";
+            } else if (!inserted.containsKey(stockId)) {
+                status = "STOCK_NOT_FOUND";
+            } else if (inserted.get(stockId)) {
+                status = "ADDED";
+                applied++;
+            } else {
+                status = "ALREADY_IN_PORTFOLIO";
+            }
+            items.add(new BulkPortfolioItemDto(stockId, status));
+        }
+        return new BulkPortfolioResultDto(stockIds.size(), applied, items);
+    }
+
+    public BulkPortfolioResultDto removeStocksFromPortfolio(String username, List<Integer> stockIds) {
+        validateBulk(username, stockIds);
+        Set<Integer> removed = portfolioRepository.removeAllByUsername(username, stockIds.toArray(Integer[]::new));
+        portfolioChanged(username);
+
+        List<BulkPortfolioItemDto> items = new ArrayList<>(stockIds.size());
+        Set<Integer> seen = new HashSet<>();
+        for (Integer stockId : stockIds) {
+            String status;
+            if (!seen.add(stockId)) {
+                status = "DUPLICATE";
+            } else if (removed.contains(stockId)) {
+                status = "REMOVED";
+            } else {
+                status = "NOT_IN_PORTFOLIO";
+            }
+            items.add(new BulkPortfolioItemDto(stockId, status));
+        }
+        return new BulkPortfolioResultDto(stockIds.size(), removed.size(), items);
+    }
+
+    public void removeStockFromPortfolio(String username, Integer stockId) {
+        Portfolio portfolio = portfolioRepository.findById(new PortfolioId(appUserService.getUserId(username), stockId))
                 .orElseThrow(() -> new IllegalArgumentException("Stock not found in portfolio"));
         portfolioRepository.delete(portfolio);
+        portfolioChanged(username);
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public String getPortfolioVersion(String username) {
+        if (username == null) {
+            throw new IllegalArgumentException("User not authenticated");
+        }
+        return resourceVersions.portfolioVersion(username);
+    }
+
+    public List<Portfolio> getUserPortfolio(String username) {
+        return portfolioRepository.findByAppUserId(appUserService.getUserId(username));
     }
 
-    public List<Portfolio> getUserPortfolio(String userId) {
-        appUserService.findById(userId);
-        return portfolioRepository.findByAppUserId(userId);
+    @Transactional(readOnly = true)
+    public PortfolioValuationDto getPortfolioValuation(String username) {
+        if (username == null) {
+            throw new IllegalArgumentException("User not authenticated");
+        }
+        List<PortfolioHoldingDto> holdings = portfolioRepository.findHoldingsByUsername(username);
+
+        BigDecimal totalPurchase = BigDecimal.ZERO;
+        BigDecimal totalValue = BigDecimal.ZERO;
+        BigDecimal totalLastDiv = BigDecimal.ZERO;
+        for (PortfolioHoldingDto holding : holdings) {
+            PriceTick tick = lastPriceBook.latest(holding.getStockId()).orElse(null);
+            if (tick != null && (holding.getPriceTime() == null || tick.timestamp() >= holding.getPriceTime())) {
+                holding.setCurrentPrice(tick.price());
+                holding.setPriceTime(tick.timestamp());
+            }
+            if (holding.getCurrentPrice() == null) {
+                holding.setCurrentPrice(holding.getPurchase());
+            }
+            holding.setGain(holding.getCurrentPrice().subtract(holding.getPurchase()));
+
+            totalPurchase = totalPurchase.add(holding.getPurchase());
+            totalValue = totalValue.add(holding.getCurrentPrice());
+            totalLastDiv = totalLastDiv.add(holding.getLastDiv());
+        }
+
+        return PortfolioValuationDto.builder()
+                .holdings(holdings)
+                .holdingCount(holdings.size())
+                .totalPurchase(totalPurchase)
+                .totalValue(totalValue)
+                .totalGain(totalValue.subtract(totalPurchase))
+                .totalLastDiv(totalLastDiv)
+                .build();
+    }
+
+    private void portfolioChanged(String userId) {
+        resourceVersions.portfolioChanged(userId);
+        TransactionHooks.afterCommit(() -> resourceVersions.portfolioChanged(userId));
+        invalidationPublisher.publish(EntityChange.Type.PORTFOLIO, userId);
+    }
+
+    private void validateBulk(String username, List<Integer> stockIds) {
+        if (username == null) {
+            throw new IllegalArgumentException("User not authenticated");
+        }
+        if (stockIds == null || stockIds.isEmpty()) {
+            throw new IllegalArgumentException("Stock IDs are required");
+        }
+        if (stockIds.size() > maxBulkItems) {
+            throw new IllegalArgumentException("At most " + maxBulkItems + " stock IDs are allowed per request");
+        }
     }
 
     public List<Portfolio> getStockPortfolios(Integer stockId) {
         return portfolioRepository.findByStockId(stockId);
     }
 
-    public boolean isStockInPortfolio(String userId, Integer stockId) {
-        return portfolioRepository.existsByAppUserIdAndStockId(userId, stockId);
+    public boolean isStockInPortfolio(String username, Integer stockId) {
+        return portfolioRepository.existsByAppUserIdAndStockId(appUserService.getUserId(username), stockId);
     }
 }
@@ -1,10 +1,17 @@
 package com.stockwatch.stockwatchpro.services;
 
+import com.stockwatch.stockwatchpro.alerts.AlertEvaluationEngine;
+import com.stockwatch.stockwatchpro.alerts.TriggeredAlertWriteBehind;
+import com.stockwatch.stockwatchpro.cache.CacheInvalidationPublisher;
+import com.stockwatch.stockwatchpro.cache.EntityChange;
+import com.stockwatch.stockwatchpro.cache.ResourceVersions;
 import com.stockwatch.stockwatchpro.dtos.CreatePriceAlertDto;
 import com.stockwatch.stockwatchpro.dtos.PriceAlertDto;
 import com.stockwatch.stockwatchpro.models.PriceAlert;
 import com.stockwatch.stockwatchpro.repositories.PriceAlertRepository;
+import com.stockwatch.stockwatchpro.support.TransactionHooks;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
@@ -17,15 +24,25 @@ public class PriceAlertService {
     private final PriceAlertRepository priceAlertRepository;
     private final AppUserService appUserService;
     private final StockService stockService;
-
-    public PriceAlertService(PriceAlertRepository priceAlertRepository, AppUserService appUserService, StockService stockService) {
+    private final AlertEvaluationEngine alertEvaluationEngine;
+    private final TriggeredAlertWriteBehind triggeredAlertWriteBehind;
+    private final ResourceVersions resourceVersions;
+    private final CacheInvalidationPublisher invalidationPublisher;
+
+    public PriceAlertService(PriceAlertRepository priceAlertRepository, AppUserService appUserService, StockService stockService,
+                             AlertEvaluationEngine alertEvaluationEngine, TriggeredAlertWriteBehind triggeredAlertWriteBehind,
+                             ResourceVersions resourceVersions, CacheInvalidationPublisher invalidationPublisher) {
         this.priceAlertRepository = priceAlertRepository;
         this.appUserService = appUserService;
         this.stockService = stockService;
+        this.alertEvaluationEngine = alertEvaluationEngine;
+        this.triggeredAlertWriteBehind = triggeredAlertWriteBehind;
+        this.resourceVersions = resourceVersions;
+        this.invalidationPublisher = invalidationPublisher;
     }
 
-    public PriceAlertDto createPriceAlert(String userId, CreatePriceAlertDto createPriceAlertDto) {
-        appUserService.findById(userId);
+    public PriceAlertDto createPriceAlert(String username, CreatePriceAlertDto createPriceAlertDto) {
+        String userId = appUserService.getUserId(username);
         stockService.getStockById(createPriceAlertDto.getStockId());
 
         PriceAlert.AlertType alertType = PriceAlert.AlertType.valueOf(createPriceAlertDto.getAlertType().toUpperCase());
@@ -40,6 +57,9 @@ public class PriceAlertService {
                 .build();
 
         PriceAlert savedAlert = priceAlertRepository.save(priceAlert);
+        TransactionHooks.afterCommit(() -> alertEvaluationEngine.track(savedAlert));
+        invalidationPublisher.publish(EntityChange.Type.PRICE_ALERT, savedAlert.getId());
+        alertsChanged(username);
         return mapToDto(savedAlert);
     }
 
@@ -49,16 +69,23 @@ public class PriceAlertService {
         return mapToDto(priceAlert);
     }
 
-    public List<PriceAlertDto> getUserActiveAlerts(String userId) {
-        appUserService.findById(userId);
-        return priceAlertRepository.findActiveAlertsByUserId(userId).stream()
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public String getUserAlertsVersion(String username) {
+        if (username == null) {
+            throw new IllegalArgumentException("User not authenticated");
+        }
+        return resourceVersions.alertVersion(username) + "-" + resourceVersions.alertTriggerVersion();
+    }
+
+    public List<PriceAlertDto> getUserActiveAlerts(String username) {
+        return priceAlertRepository.findActiveAlertsByUserId(appUserService.getUserId(username)).stream()
                 .map(this::mapToDto)
+                .filter(PriceAlertDto::getIsActive)
                 .collect(Collectors.toList());
     }
 
-    public List<PriceAlertDto> getUserAllAlerts(String userId) {
-        appUserService.findById(userId);
-        return priceAlertRepository.findByAppUserId(userId).stream()
+    public List<PriceAlertDto> getUserAllAlerts(String username) {
+        return priceAlertRepository.findByAppUserId(appUserService.getUserId(username)).stream()
                 .map(this::mapToDto)
                 .collect(Collectors.toList());
     }
@@ -67,6 +94,7 @@ public class PriceAlertService {
         stockService.getStockById(stockId);
         return priceAlertRepository.findActiveAlertsByStockId(stockId).stream()
                 .map(this::mapToDto)
+                .filter(PriceAlertDto::getIsActive)
                 .collect(Collectors.toList());
     }
 
@@ -74,22 +102,47 @@ public class PriceAlertService {
         PriceAlert priceAlert = priceAlertRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Price alert not found with id: " + id));
 
+        TransactionHooks.afterCommit(() -> triggeredAlertWriteBehind.cancel(id));
         priceAlert.setIsActive(isActive);
+        priceAlert.setUpdatedAt(LocalDateTime.now());
         if (!isActive) {
             priceAlert.setTriggeredAt(null);
         }
 
         PriceAlert updatedAlert = priceAlertRepository.save(priceAlert);
-        return mapToDto(updatedAlert);
+        TransactionHooks.afterCommit(() -> alertEvaluationEngine.track(updatedAlert));
+        invalidationPublisher.publish(EntityChange.Type.PRICE_ALERT, updatedAlert.getId());
+        alertsChanged(updatedAlert.getAppUser().getUsername());
+        return toDto(updatedAlert);
     }
 
     public void deletePriceAlert(Integer id) {
         PriceAlert priceAlert = priceAlertRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Price alert not found with id: " + id));
+        TransactionHooks.afterCommit(() -> triggeredAlertWriteBehind.cancel(id));
+        String username = priceAlert.getAppUser().getUsername();
         priceAlertRepository.delete(priceAlert);
+        TransactionHooks.afterCommit(() -> alertEvaluationEngine.untrack(priceAlert.getId(), priceAlert.getStockId()));
+        invalidationPublisher.publish(EntityChange.Type.PRICE_ALERT, priceAlert.getId());
+        alertsChanged(username);
+    }
+
+    private void alertsChanged(String userId) {
+        resourceVersions.alertsChanged(userId);
+        TransactionHooks.afterCommit(() -> resourceVersions.alertsChanged(userId));
+        invalidationPublisher.publish(EntityChange.Type.USER_ALERTS, userId);
+    }
+
+    PriceAlertDto mapToDto(PriceAlert priceAlert) {
+        PriceAlertDto dto = toDto(priceAlert);
+        triggeredAlertWriteBehind.pendingTriggeredAt(priceAlert.getId()).ifPresent(triggeredAt -> {
+            dto.setIsActive(false);
+            dto.setTriggeredAt(triggeredAt);
+        });
+        return dto;
     }
 
-    private PriceAlertDto mapToDto(PriceAlert priceAlert) {
+    private PriceAlertDto toDto(PriceAlert priceAlert) {
         return PriceAlertDto.builder()
                 .id(priceAlert.getId())
                 .appUserId(priceAlert.getAppUserId())
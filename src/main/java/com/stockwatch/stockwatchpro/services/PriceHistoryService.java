@@ -0,0 +1,58 @@
+package com.stockwatch.stockwatchpro.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stockwatch.stockwatchpro.dtos.StockDto;
+import com.stockwatch.stockwatchpro.history.TickHistoryStore;
+import com.stockwatch.stockwatchpro.history.TickRange;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+
+@Service
+public class PriceHistoryService {
+    private final StockService stockService;
+    private final TickHistoryStore tickHistoryStore;
+    private final ObjectMapper objectMapper;
+    private final int maxTicks;
+
+    public PriceHistoryService(StockService stockService, TickHistoryStore tickHistoryStore, ObjectMapper objectMapper,
+                               @Value("${history.max-ticks-per-request:100000}") int maxTicks) {
+        this.stockService = stockService;
+        this.tickHistoryStore = tickHistoryStore;
+        this.objectMapper = objectMapper;
+        this.maxTicks = maxTicks;
+    }
+
+    public StreamingResponseBody streamHistory(Integer stockId, Long from, Long to, int limit) {
+        StockDto stock = stockService.getStockById(stockId);
+        long fromTimestamp = from != null ? from : 0L;
+        long toTimestamp = to != null ? to : Long.MAX_VALUE;
+        if (limit <= 0 || fromTimestamp > toTimestamp) {
+            throw new IllegalArgumentException("Invalid history range");
+        }
+
+        List<TickRange> ranges = tickHistoryStore.read(stockId, fromTimestamp, toTimestamp, Math.min(limit, maxTicks));
+        return outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartObject();
+                generator.writeNumberField("stockId", stock.getId());
+                generator.writeStringField("symbol", stock.getSymbol());
+                generator.writeArrayFieldStart("ticks");
+                for (TickRange range : ranges) {
+                    for (int i = 0; i < range.size(); i++) {
+                        generator.writeStartObject();
+                        generator.writeNumberField("timestamp", range.timestamp(i));
+                        generator.writeNumberField("price", range.price(i));
+                        generator.writeNumberField("volume", range.volume(i));
+                        generator.writeEndObject();
+                    }
+                }
+                generator.writeEndArray();
+                generator.writeEndObject();
+            }
+        };
+    }
+}
@@ -0,0 +1,51 @@
+package com.stockwatch.stockwatchpro.services;
+
+import com.stockwatch.stockwatchpro.marketdata.LastPriceBook;
+import com.stockwatch.stockwatchpro.marketdata.PriceTick;
+import com.stockwatch.stockwatchpro.repositories.PortfolioRepository;
+import com.stockwatch.stockwatchpro.streaming.PriceStreamHub;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@Transactional(readOnly = true)
+public class PriceStreamService {
+    private final PriceStreamHub priceStreamHub;
+    private final PortfolioRepository portfolioRepository;
+    private final LastPriceBook lastPriceBook;
+    private final int maxSymbols;
+
+    public PriceStreamService(PriceStreamHub priceStreamHub, PortfolioRepository portfolioRepository, LastPriceBook lastPriceBook,
+                              @Value("${prices.stream.max-symbols:500}") int maxSymbols) {
+        this.priceStreamHub = priceStreamHub;
+        this.portfolioRepository = portfolioRepository;
+        this.lastPriceBook = lastPriceBook;
+        this.maxSymbols = maxSymbols;
+    }
+
+    public SseEmitter subscribe(String username, List<Integer> stockIds) {
+        Set<Integer> ids = new LinkedHashSet<>(stockIds == null || stockIds.isEmpty()
+                ? portfolioRepository.findStockIdsByUsername(username)
+                : stockIds);
+        ids.remove(null);
+        if (ids.isEmpty()) {
+            throw new IllegalArgumentException("No stocks to subscribe to");
+        }
+        if (ids.size() > maxSymbols) {
+            throw new IllegalArgumentException("At most " + maxSymbols + " stocks can be streamed per subscription");
+        }
+
+        List<PriceTick> snapshot = new ArrayList<>(ids.size());
+        for (Integer stockId : ids) {
+            lastPriceBook.latest(stockId).ifPresent(snapshot::add);
+        }
+        return priceStreamHub.subscribe(ids, snapshot);
+    }
+}
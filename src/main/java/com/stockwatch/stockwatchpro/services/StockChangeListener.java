@@ -0,0 +1,15 @@
+package com.stockwatch.stockwatchpro.services;
+
+import com.stockwatch.stockwatchpro.dtos.StockDto;
+
+import java.util.List;
+
+public interface StockChangeListener {
+    void onStockSaved(StockDto stock);
+
+    void onStockDeleted(Integer stockId);
+
+    default void onCatalogReloaded(List<StockDto> stocks) {
+        stocks.forEach(this::onStockSaved);
+    }
+}
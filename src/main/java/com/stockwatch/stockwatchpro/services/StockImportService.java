@@ -0,0 +1,61 @@
+package com.stockwatch.stockwatchpro.services;
+
+import com.stockwatch.stockwatchpro.cache.CacheInvalidationPublisher;
+import com.stockwatch.stockwatchpro.cache.EntityChange;
+import com.stockwatch.stockwatchpro.cache.StockCache;
+import com.stockwatch.stockwatchpro.catalog.StockCatalogImporter;
+import com.stockwatch.stockwatchpro.catalog.StockImportFormat;
+import com.stockwatch.stockwatchpro.dtos.StockDto;
+import com.stockwatch.stockwatchpro.dtos.StockImportResultDto;
+import com.stockwatch.stockwatchpro.models.Stock;
+import com.stockwatch.stockwatchpro.repositories.StockRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+@Service
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class StockImportService {
+    private final StockCatalogImporter stockCatalogImporter;
+    private final StockRepository stockRepository;
+    private final StockCache stockCache;
+    private final List<StockChangeListener> stockChangeListeners;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final int changeBatchSize;
+
+    public StockImportService(StockCatalogImporter stockCatalogImporter, StockRepository stockRepository,
+                              StockCache stockCache, List<StockChangeListener> stockChangeListeners,
+                              CacheInvalidationPublisher invalidationPublisher,
+                              @Value("${stocks.stream.fetch-size:500}") int changeBatchSize) {
+        this.stockCatalogImporter = stockCatalogImporter;
+        this.stockRepository = stockRepository;
+        this.stockCache = stockCache;
+        this.stockChangeListeners = stockChangeListeners;
+        this.invalidationPublisher = invalidationPublisher;
+        this.changeBatchSize = changeBatchSize;
+    }
+
+    public StockImportResultDto importStocks(InputStream body, String contentType) {
+        StockImportFormat format = StockImportFormat.fromContentType(contentType);
+        IntStream.Builder changedIds = IntStream.builder();
+        StockImportResultDto result = stockCatalogImporter.importStocks(body, format, changedIds::add);
+
+        int[] ids = changedIds.build().toArray();
+        for (int from = 0; from < ids.length; from += changeBatchSize) {
+            List<Integer> batch = Arrays.stream(ids, from, Math.min(ids.length, from + changeBatchSize)).boxed().toList();
+            for (Stock saved : stockRepository.findAllById(batch)) {
+                StockDto stock = StockDto.from(saved);
+                stockCache.invalidate(stock.getId(), stock.getSymbol());
+                stockChangeListeners.forEach(listener -> listener.onStockSaved(stock));
+                invalidationPublisher.publish(EntityChange.Type.STOCK, stock.getId(), stock.getVersion());
+            }
+        }
+        return result;
+    }
+}
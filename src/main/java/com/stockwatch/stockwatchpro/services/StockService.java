@@ -1,23 +1,78 @@
 package com.stockwatch.stockwatchpro.services;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stockwatch.stockwatchpro.cache.CacheInvalidationPublisher;
+import com.stockwatch.stockwatchpro.cache.EntityChange;
+import com.stockwatch.stockwatchpro.cache.ResourceVersions;
+import com.stockwatch.stockwatchpro.cache.StockCache;
 import com.stockwatch.stockwatchpro.dtos.CreateStockRequestDto;
+import com.stockwatch.stockwatchpro.dtos.PriceUpdateDto;
 import com.stockwatch.stockwatchpro.dtos.StockDto;
+import com.stockwatch.stockwatchpro.dtos.StockPageDto;
 import com.stockwatch.stockwatchpro.dtos.UpdateStockRequestDto;
+import com.stockwatch.stockwatchpro.marketdata.PriceFeed;
+import com.stockwatch.stockwatchpro.marketdata.PriceTick;
 import com.stockwatch.stockwatchpro.models.Stock;
 import com.stockwatch.stockwatchpro.repositories.StockRepository;
+import com.stockwatch.stockwatchpro.search.AutocompleteIndex;
+import com.stockwatch.stockwatchpro.search.CompanyNameIndex;
+import com.stockwatch.stockwatchpro.support.KeysetCursor;
+import com.stockwatch.stockwatchpro.support.TransactionHooks;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class StockService {
+    private static final String SORT_BY_ID = "id";
+    private static final String SORT_BY_SYMBOL = "symbol";
+
     private final StockRepository stockRepository;
+    private final PriceFeed priceFeed;
+    private final StockCache stockCache;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate streamTransaction;
+    private final int maxPageSize;
+    private final CompanyNameIndex companyNameIndex;
+    private final AutocompleteIndex autocompleteIndex;
+    private final List<StockChangeListener> stockChangeListeners;
+    private final int maxSearchResults;
+    private final ResourceVersions resourceVersions;
+    private final CacheInvalidationPublisher invalidationPublisher;
 
-    public StockService(StockRepository stockRepository) {
+    public StockService(StockRepository stockRepository, PriceFeed priceFeed, StockCache stockCache, ObjectMapper objectMapper,
+                        PlatformTransactionManager transactionManager, @Value("${stocks.page.max-size:1000}") int maxPageSize,
+                        CompanyNameIndex companyNameIndex, AutocompleteIndex autocompleteIndex,
+                        List<StockChangeListener> stockChangeListeners,
+                        @Value("${search.max-results:100}") int maxSearchResults, ResourceVersions resourceVersions,
+                        CacheInvalidationPublisher invalidationPublisher) {
         this.stockRepository = stockRepository;
+        this.priceFeed = priceFeed;
+        this.stockCache = stockCache;
+        this.objectMapper = objectMapper;
+        this.streamTransaction = new TransactionTemplate(transactionManager);
+        this.streamTransaction.setReadOnly(true);
+        this.maxPageSize = maxPageSize;
+        this.companyNameIndex = companyNameIndex;
+        this.autocompleteIndex = autocompleteIndex;
+        this.stockChangeListeners = stockChangeListeners;
+        this.maxSearchResults = maxSearchResults;
+        this.resourceVersions = resourceVersions;
+        this.invalidationPublisher = invalidationPublisher;
     }
 
     public StockDto createStock(CreateStockRequestDto createStockRequestDto) {
@@ -35,42 +90,111 @@ public class StockService {
                 .build();
 
         Stock savedStock = stockRepository.save(stock);
-        return mapToDto(savedStock);
+        StockDto savedDto = StockDto.from(savedStock);
+        stockSaved(savedDto);
+        return savedDto;
     }
 
     public StockDto getStockById(Integer id) {
-        Stock stock = stockRepository.findById(id)
+        return stockCache.getById(id, key -> stockRepository.findById(key).map(StockDto::from).orElse(null))
                 .orElseThrow(() -> new IllegalArgumentException("Stock not found with id: " + id));
-        return mapToDto(stock);
     }
 
     public StockDto getStockBySymbol(String symbol) {
-        Stock stock = stockRepository.findBySymbol(symbol)
+        return stockCache.getBySymbol(symbol, key -> stockRepository.findBySymbol(key).map(StockDto::from).orElse(null))
                 .orElseThrow(() -> new IllegalArgumentException("Stock not found with symbol: " + symbol));
-        return mapToDto(stock);
     }
 
-    public List<StockDto> getAllStocks() {
-        return stockRepository.findAll().stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public String getCatalogVersion() {
+        return resourceVersions.catalogVersion();
     }
 
-    public List<StockDto> getStocksByIndustry(String industry) {
-        return stockRepository.findByIndustry(industry).stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+    public StockPageDto getStocksPage(String industry, String sort, String cursor, int limit) {
+        if (limit < 1 || limit > maxPageSize) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + maxPageSize);
+        }
+        boolean bySymbol = SORT_BY_SYMBOL.equals(sort);
+        if (!bySymbol && !SORT_BY_ID.equals(sort)) {
+            throw new IllegalArgumentException("Unsupported sort: " + sort);
+        }
+
+        String after = null;
+        if (cursor != null) {
+            List<String> parts = KeysetCursor.decode(cursor, 2);
+            if (!sort.equals(parts.get(0))) {
+                throw new IllegalArgumentException("Cursor does not match sort " + sort);
+            }
+            after = parts.get(1);
+        }
+        Pageable page = PageRequest.of(0, limit + 1);
+        List<Stock> stocks;
+        if (bySymbol) {
+            String afterSymbol = after != null ? after : "";
+            stocks = industry == null
+                    ? stockRepository.findPageAfterSymbol(afterSymbol, page)
+                    : stockRepository.findIndustryPageAfterSymbol(industry, afterSymbol, page);
+        } else {
+            int afterId = after != null ? parseCursorId(after) : 0;
+            stocks = industry == null
+                    ? stockRepository.findPageAfterId(afterId, page)
+                    : stockRepository.findIndustryPageAfterId(industry, afterId, page);
+        }
+
+        String nextCursor = null;
+        if (stocks.size() > limit) {
+            stocks = stocks.subList(0, limit);
+            Stock last = stocks.get(limit - 1);
+            nextCursor = KeysetCursor.encode(sort, bySymbol ? last.getSymbol() : last.getId().toString());
+        }
+        return StockPageDto.builder()
+                .items(stocks.stream().map(StockDto::from).collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .build();
     }
 
-    public List<StockDto> searchByCompanyName(String companyName) {
-        return stockRepository.searchByCompanyName(companyName).stream()
-                .map(this::mapToDto)
+    public StreamingResponseBody streamStocks(String industry) {
+        return outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                streamTransaction.executeWithoutResult(status ->
+                        stockRepository.streamCatalog(industry, stock -> writeStock(generator, stock)));
+                generator.writeEndArray();
+            }
+        };
+    }
+
+    @Transactional(readOnly = true)
+    public List<StockDto> searchByCompanyName(String companyName, int limit) {
+        if (companyName == null || companyName.isBlank()) {
+            throw new IllegalArgumentException("Company name is required");
+        }
+        int size = Math.min(Math.max(limit, 1), maxSearchResults);
+        if (companyNameIndex.isReady()) {
+            return companyNameIndex.search(companyName, size);
+        }
+        return stockRepository.searchByCompanyNameRanked(companyName, size).stream()
+                .map(StockDto::from)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<StockDto> autocomplete(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            throw new IllegalArgumentException("Prefix is required");
+        }
+        if (limit < 1 || limit > autocompleteIndex.getMaxSuggestions()) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + autocompleteIndex.getMaxSuggestions());
+        }
+        return autocompleteIndex.suggest(prefix, limit);
+    }
+
     public StockDto updateStock(Integer id, UpdateStockRequestDto updateStockRequestDto) {
         Stock stock = stockRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Stock not found with id: " + id));
+        if (updateStockRequestDto.getVersion() != null && !updateStockRequestDto.getVersion().equals(stock.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Stock.class, id);
+        }
 
         if (updateStockRequestDto.getCompanyName() != null) {
             stock.setCompanyName(updateStockRequestDto.getCompanyName());
@@ -88,25 +212,66 @@ public class StockService {
             stock.setMarketCap(updateStockRequestDto.getMarketCap());
         }
 
-        Stock updatedStock = stockRepository.save(stock);
-        return mapToDto(updatedStock);
+        Stock updatedStock = stockRepository.saveAndFlush(stock);
+        StockDto updatedDto = StockDto.from(updatedStock);
+        stockSaved(updatedDto);
+        return updatedDto;
     }
 
     public void deleteStock(Integer id) {
         Stock stock = stockRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Stock not found with id: " + id));
         stockRepository.delete(stock);
+        invalidateCache(stock.getId(), stock.getSymbol());
+        invalidationPublisher.publish(EntityChange.Type.STOCK, stock.getId(), stock.getVersion());
+        TransactionHooks.afterCommit(() -> stockChangeListeners.forEach(listener -> listener.onStockDeleted(id)));
     }
 
-    private StockDto mapToDto(Stock stock) {
-        return StockDto.builder()
-                .id(stock.getId())
-                .symbol(stock.getSymbol())
-                .companyName(stock.getCompanyName())
-                .purchase(stock.getPurchase())
-                .lastDiv(stock.getLastDiv())
-                .industry(stock.getIndustry())
-                .marketCap(stock.getMarketCap())
-                .build();
+    @Transactional(readOnly = true)
+    public void publishPrice(Integer id, PriceUpdateDto priceUpdateDto) {
+        StockDto stock = getStockById(id);
+        long volume = priceUpdateDto.getVolume() != null ? priceUpdateDto.getVolume() : 0L;
+        long timestamp = priceUpdateDto.getTimestamp() != null ? priceUpdateDto.getTimestamp() : System.currentTimeMillis();
+        priceFeed.publish(new PriceTick(stock.getId(), stock.getSymbol(), priceUpdateDto.getPrice(), volume, timestamp));
+    }
+
+    private void writeStock(JsonGenerator generator, Stock stock) {
+        try {
+            generator.writeStartObject();
+            generator.writeNumberField("id", stock.getId());
+            generator.writeStringField("symbol", stock.getSymbol());
+            generator.writeStringField("companyName", stock.getCompanyName());
+            generator.writeNumberField("purchase", stock.getPurchase());
+            generator.writeNumberField("lastDiv", stock.getLastDiv());
+            if (stock.getIndustry() != null) {
+                generator.writeStringField("industry", stock.getIndustry());
+            }
+            if (stock.getMarketCap() != null) {
+                generator.writeNumberField("marketCap", stock.getMarketCap());
+            }
+            generator.writeNumberField("version", stock.getVersion());
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private int parseCursorId(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    private void stockSaved(StockDto stock) {
+        invalidateCache(stock.getId(), stock.getSymbol());
+        invalidationPublisher.publish(EntityChange.Type.STOCK, stock.getId(), stock.getVersion());
+        TransactionHooks.afterCommit(() -> stockChangeListeners.forEach(listener -> listener.onStockSaved(stock)));
+    }
+
+    private void invalidateCache(Integer id, String symbol) {
+        stockCache.invalidate(id, symbol);
+        TransactionHooks.afterCommit(() -> stockCache.invalidate(id, symbol));
     }
 }
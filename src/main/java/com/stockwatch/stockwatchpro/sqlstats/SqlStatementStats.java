@@ -0,0 +1,77 @@
+package com.stockwatch.stockwatchpro.sqlstats;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public final class SqlStatementStats {
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    private final SqlStatementStats parent;
+    private final Map<String, Integer> executionsBySql = new HashMap<>();
+    private int statements;
+    private long nanos;
+    private String mostRepeatedSql;
+    private int mostRepeatedCount;
+
+    private SqlStatementStats(SqlStatementStats parent) {
+        this.parent = parent;
+    }
+
+    public static SqlStatementStats start() {
+        SqlStatementStats stats = new SqlStatementStats(CURRENT.get());
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static void stop(SqlStatementStats stats) {
+        if (stats.parent == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(stats.parent);
+        }
+    }
+
+    static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    static void record(String sql, long elapsedNanos) {
+        for (SqlStatementStats stats = CURRENT.get(); stats != null; stats = stats.parent) {
+            stats.add(sql, elapsedNanos);
+        }
+    }
+
+    private void add(String sql, long elapsedNanos) {
+        statements++;
+        nanos += elapsedNanos;
+        int count = executionsBySql.merge(sql, 1, Integer::sum);
+        if (count > mostRepeatedCount) {
+            mostRepeatedCount = count;
+            mostRepeatedSql = sql;
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    public double getMillis() {
+        return nanos / 1_000_000.0;
+    }
+
+    public int getMostRepeatedCount() {
+        return mostRepeatedCount;
+    }
+
+    public String getMostRepeatedSql() {
+        return mostRepeatedSql;
+    }
+
+    public Map<String, Integer> getExecutionsBySql() {
+        return Map.copyOf(executionsBySql);
+    }
+}
@@ -0,0 +1,30 @@
+package com.stockwatch.stockwatchpro.sqlstats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@ConditionalOnProperty(name = "sql.stats.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatementStatsConfig {
+
+    @Bean
+    public static StatementCountingDataSourcePostProcessor statementCountingDataSourcePostProcessor() {
+        return new StatementCountingDataSourcePostProcessor();
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlStatementStatsFilter> sqlStatementStatsFilter(
+            MeterRegistry meterRegistry,
+            @Value("${sql.stats.server-timing:false}") boolean serverTiming,
+            @Value("${sql.stats.repeat-warn-threshold:10}") int repeatWarnThreshold) {
+        FilterRegistrationBean<SqlStatementStatsFilter> registration =
+                new FilterRegistrationBean<>(new SqlStatementStatsFilter(meterRegistry, serverTiming, repeatWarnThreshold));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+}
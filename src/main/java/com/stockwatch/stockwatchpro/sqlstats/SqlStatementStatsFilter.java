@@ -0,0 +1,98 @@
+package com.stockwatch.stockwatchpro.sqlstats;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Locale;
+
+public class SqlStatementStatsFilter extends OncePerRequestFilter {
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+    static final String SERVER_TIMING_METRIC = "sql";
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementStatsFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final boolean serverTiming;
+    private final int repeatWarnThreshold;
+
+    public SqlStatementStatsFilter(MeterRegistry meterRegistry, boolean serverTiming, int repeatWarnThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.serverTiming = serverTiming;
+        this.repeatWarnThreshold = repeatWarnThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementStats stats = SqlStatementStats.start();
+        try {
+            if (serverTiming) {
+                ServerTimingResponse timedResponse = new ServerTimingResponse(response, stats);
+                filterChain.doFilter(request, timedResponse);
+                timedResponse.writeHeader();
+            } else {
+                filterChain.doFilter(request, response);
+            }
+        } finally {
+            SqlStatementStats.stop(stats);
+            report(request, stats);
+        }
+    }
+
+    private void report(HttpServletRequest request, SqlStatementStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder("http.server.requests.sql.statements")
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        if (stats.getMostRepeatedCount() >= repeatWarnThreshold) {
+            log.warn("Possible N+1 in {} {}: same statement executed {} times ({} statements, {} ms): {}",
+                    request.getMethod(), uri, stats.getMostRepeatedCount(), stats.getStatements(),
+                    String.format(Locale.ROOT, "%.2f", stats.getMillis()), stats.getMostRepeatedSql());
+        } else if (log.isDebugEnabled()) {
+            log.debug("{} {}: {} statements in {} ms", request.getMethod(), uri, stats.getStatements(),
+                    String.format(Locale.ROOT, "%.2f", stats.getMillis()));
+        }
+    }
+
+    static String serverTimingValue(SqlStatementStats stats) {
+        return String.format(Locale.ROOT, "%s;dur=%.2f;desc=\"%d statements, %d max repeats\"",
+                SERVER_TIMING_METRIC, stats.getMillis(), stats.getStatements(), stats.getMostRepeatedCount());
+    }
+
+    private static final class ServerTimingResponse extends OnCommittedResponseWrapper {
+        private final SqlStatementStats stats;
+        private boolean written;
+
+        ServerTimingResponse(HttpServletResponse response, SqlStatementStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            writeHeader();
+        }
+
+        void writeHeader() {
+            if (written || isCommitted()) {
+                return;
+            }
+            written = true;
+            addHeader(SERVER_TIMING_HEADER, serverTimingValue(stats));
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.stockwatch.stockwatchpro.streaming;
+
+import com.stockwatch.stockwatchpro.marketdata.PriceTick;
+import com.stockwatch.stockwatchpro.marketdata.PriceTickListener;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+public class PriceStreamHub implements PriceTickListener {
+    private static final Logger log = LoggerFactory.getLogger(PriceStreamHub.class);
+
+    private final Map<Integer, Set<PriceSubscriber>> subscribersByStock = new ConcurrentHashMap<>();
+    private final Set<PriceSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final LongAdder conflated = new LongAdder();
+    private final ExecutorService sender = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("price-stream-", 0).factory());
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "price-stream-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final int maxSubscribers;
+    private final long timeoutMs;
+
+    public PriceStreamHub(@Value("${prices.stream.max-subscribers:50000}") int maxSubscribers,
+                          @Value("${prices.stream.timeout-ms:3600000}") long timeoutMs,
+                          @Value("${prices.stream.heartbeat-ms:15000}") long heartbeatMs) {
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMs = timeoutMs;
+        heartbeats.scheduleAtFixedRate(() -> subscribers.forEach(PriceSubscriber::heartbeat), heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+    }
+
+    public SseEmitter subscribe(Set<Integer> stockIds, Collection<PriceTick> snapshot) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new IllegalStateException("Price stream subscriber limit reached");
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        PriceSubscriber subscriber = new PriceSubscriber(emitter, Set.copyOf(stockIds), sender, conflated, this::unsubscribe);
+        subscribers.add(subscriber);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+
+        for (Integer stockId : subscriber.stockIds()) {
+            subscribersByStock.compute(stockId, (key, current) -> {
+                Set<PriceSubscriber> set = current != null ? current : ConcurrentHashMap.newKeySet();
+                set.add(subscriber);
+                return set;
+            });
+        }
+        snapshot.forEach(subscriber::offer);
+        return emitter;
+    }
+
+    @Override
+    public void onPriceTick(PriceTick tick) {
+        Set<PriceSubscriber> set = subscribersByStock.get(tick.stockId());
+        if (set != null) {
+            for (PriceSubscriber subscriber : set) {
+                subscriber.offer(tick);
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    public long getConflatedCount() {
+        return conflated.sum();
+    }
+
+    private void unsubscribe(PriceSubscriber subscriber) {
+        if (!subscribers.remove(subscriber)) {
+            return;
+        }
+        subscriberCount.decrementAndGet();
+        for (Integer stockId : subscriber.stockIds()) {
+            subscribersByStock.computeIfPresent(stockId, (key, set) -> {
+                set.remove(subscriber);
+                return set.isEmpty() ? null : set;
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        for (PriceSubscriber subscriber : subscribers) {
+            subscriber.close();
+            subscriber.emitter().complete();
+        }
+        sender.shutdown();
+        log.info("Closed price stream hub");
+    }
+}
@@ -0,0 +1,117 @@
+package com.stockwatch.stockwatchpro.streaming;
+
+import com.stockwatch.stockwatchpro.dtos.PriceQuoteDto;
+import com.stockwatch.stockwatchpro.marketdata.PriceTick;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+final class PriceSubscriber {
+    private static final String PRICE_EVENT = "price";
+
+    private final SseEmitter emitter;
+    private final Set<Integer> stockIds;
+    private final Executor sender;
+    private final LongAdder conflated;
+    private final Consumer<PriceSubscriber> onClose;
+    private final Map<Integer, PriceTick> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile boolean heartbeatDue;
+
+    PriceSubscriber(SseEmitter emitter, Set<Integer> stockIds, Executor sender, LongAdder conflated,
+                    Consumer<PriceSubscriber> onClose) {
+        this.emitter = emitter;
+        this.stockIds = stockIds;
+        this.sender = sender;
+        this.conflated = conflated;
+        this.onClose = onClose;
+    }
+
+    Set<Integer> stockIds() {
+        return stockIds;
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    void offer(PriceTick tick) {
+        if (closed.get()) {
+            return;
+        }
+        pending.compute(tick.stockId(), (stockId, current) -> {
+            if (current == null) {
+                return tick;
+            }
+            conflated.increment();
+            return tick.timestamp() >= current.timestamp() ? tick : current;
+        });
+        schedule();
+    }
+
+    void heartbeat() {
+        heartbeatDue = true;
+        schedule();
+    }
+
+    void close() {
+        if (closed.compareAndSet(false, true)) {
+            pending.clear();
+            onClose.accept(this);
+        }
+    }
+
+    private void schedule() {
+        if (!closed.get() && scheduled.compareAndSet(false, true)) {
+            sender.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        do {
+            try {
+                flush();
+            } catch (IOException | IllegalStateException e) {
+                close();
+                emitter.completeWithError(e);
+                return;
+            }
+            scheduled.set(false);
+        } while (!closed.get() && (!pending.isEmpty() || heartbeatDue) && scheduled.compareAndSet(false, true));
+    }
+
+    private void flush() throws IOException {
+        boolean sent = false;
+        for (Integer stockId : pending.keySet()) {
+            PriceTick tick = pending.remove(stockId);
+            if (tick != null) {
+                emitter.send(SseEmitter.event()
+                        .name(PRICE_EVENT)
+                        .id(Long.toString(tick.timestamp()))
+                        .data(PriceQuoteDto.builder()
+                                .stockId(tick.stockId())
+                                .symbol(tick.symbol())
+                                .price(tick.price())
+                                .volume(tick.volume())
+                                .timestamp(tick.timestamp())
+                                .build(), MediaType.APPLICATION_JSON));
+                sent = true;
+            }
+        }
+        if (heartbeatDue) {
+            heartbeatDue = false;
+            if (!sent) {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            }
+        }
+    }
+}
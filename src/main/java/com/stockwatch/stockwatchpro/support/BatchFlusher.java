@@ -0,0 +1,130 @@
+package com.stockwatch.stockwatchpro.support;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+public class BatchFlusher<T> {
+    private static final Logger log = LoggerFactory.getLogger(BatchFlusher.class);
+    private static final long MAX_RETRY_BACKOFF_MS = 5000;
+    private static final int SHUTDOWN_FLUSH_ATTEMPTS = 3;
+
+    private final String name;
+    private final BlockingQueue<T> queue;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final Consumer<List<T>> sink;
+    private final Thread flusher;
+    private volatile boolean running = true;
+    private volatile List<T> unflushedOnStop = List.of();
+
+    public BatchFlusher(String name, int capacity, int batchSize, long flushIntervalMs, Consumer<List<T>> sink) {
+        this.name = name;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.sink = sink;
+        this.flusher = new Thread(this::runFlushLoop, name);
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    public void add(T item) {
+        try {
+            queue.put(item);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(name + " interrupted while queueing", e);
+        }
+    }
+
+    public boolean offer(T item) {
+        return queue.offer(item);
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    public void close() {
+        running = false;
+        flusher.interrupt();
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        List<T> remaining = new ArrayList<>(unflushedOnStop);
+        queue.drainTo(remaining);
+        for (int attempt = 1; !remaining.isEmpty() && attempt <= SHUTDOWN_FLUSH_ATTEMPTS; attempt++) {
+            try {
+                sink.accept(remaining);
+                remaining.clear();
+            } catch (RuntimeException e) {
+                log.warn("{}: shutdown flush of {} items failed (attempt {})", name, remaining.size(), attempt, e);
+            }
+        }
+        if (!remaining.isEmpty()) {
+            log.error("{}: dropping {} unflushed items on shutdown", name, remaining.size());
+        }
+    }
+
+    private void runFlushLoop() {
+        List<T> batch = new ArrayList<>(batchSize);
+        long backoffMs = flushIntervalMs;
+        while (running) {
+            try {
+                if (batch.isEmpty()) {
+                    collectBatch(batch);
+                }
+                if (batch.isEmpty()) {
+                    continue;
+                }
+                sink.accept(batch);
+                batch.clear();
+                backoffMs = flushIntervalMs;
+            } catch (InterruptedException e) {
+                break;
+            } catch (RuntimeException e) {
+                log.warn("{}: flush of {} items failed, retrying in {} ms", name, batch.size(), backoffMs, e);
+                if (!sleep(backoffMs)) {
+                    break;
+                }
+                backoffMs = Math.min(backoffMs * 2, MAX_RETRY_BACKOFF_MS);
+            }
+        }
+        unflushedOnStop = batch;
+    }
+
+    private void collectBatch(List<T> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        while (batch.size() < batchSize) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            T item = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (item == null) {
+                return;
+            }
+            batch.add(item);
+            queue.drainTo(batch, batchSize - batch.size());
+        }
+    }
+
+    private boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            return false;
+        }
+    }
+}
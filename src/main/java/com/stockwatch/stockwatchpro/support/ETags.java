@@ -0,0 +1,60 @@
+package com.stockwatch.stockwatchpro.support;
+
+public final class ETags {
+    private ETags() {
+    }
+
+    public static String of(Object... parts) {
+        StringBuilder tag = new StringBuilder("\"");
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                tag.append('-');
+            }
+            tag.append(parts[i]);
+        }
+        return tag.append('"').toString();
+    }
+
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static Long parseVersion(String ifMatch, Object... resource) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.equals("*")) {
+            return null;
+        }
+        if (value.startsWith("W/")) {
+            throw new IllegalArgumentException("Weak entity tags cannot be used for If-Match");
+        }
+        if (value.length() < 2 || !value.startsWith("\"") || !value.endsWith("\"")) {
+            throw new IllegalArgumentException("Invalid entity tag");
+        }
+        String tag = value.substring(1, value.length() - 1);
+        String prefix = of(resource);
+        prefix = prefix.substring(1, prefix.length() - 1) + "-";
+        if (!tag.startsWith(prefix)) {
+            throw new IllegalArgumentException("Entity tag does not belong to this resource");
+        }
+        try {
+            return Long.parseLong(tag.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid entity tag", e);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.stockwatch.stockwatchpro.sqlstats;
+
+import com.stockwatch.stockwatchpro.dtos.RegisterDto;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.UUID;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "sql.stats.server-timing=true",
+        "security.login.max-failures-per-ip=0",
+        "spring.devtools.restart.enabled=false"
+})
+class EndpointStatementBudgetTest {
+    private static final EmbeddedPostgres POSTGRES = start();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String token;
+    private int stockId;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        POSTGRES.close();
+    }
+
+    @BeforeEach
+    void seed() {
+        RestAssured.port = port;
+        RestAssured.basePath = "/api";
+        String username = "budget" + UUID.randomUUID().toString().substring(0, 8);
+        token = given()
+                .contentType(ContentType.JSON)
+                .body(RegisterDto.builder().username(username).email(username + "@stockwatch.local").password("Budget-test-1!").build())
+                .post("/account/register")
+                .then().statusCode(201)
+                .extract().path("token");
+
+        String symbol = "B" + UUID.randomUUID().toString().substring(0, 6).toUpperCase();
+        jdbcTemplate.update(
+                "INSERT INTO stocks (symbol, company_name, purchase, last_div, industry, market_cap) " +
+                "SELECT ? || g, 'Budget Holdings ' || g, 10.00, 0.50, 'Technology', 1000000 * g FROM generate_series(1, 5) g",
+                symbol);
+        stockId = jdbcTemplate.queryForObject("SELECT id FROM stocks WHERE symbol = ?", Integer.class, symbol + 1);
+        jdbcTemplate.update(
+                "INSERT INTO portfolios (app_user_id, stock_id) " +
+                "SELECT u.id, s.id FROM users u, stocks s WHERE u.username = ? AND s.symbol LIKE ?",
+                username, symbol + "%");
+        jdbcTemplate.update(
+                "INSERT INTO comments (title, content, created_time, stock_id) " +
+                "SELECT 'Comment ' || k, 'Budget test comment', now() - k * interval '1 minute', ? FROM generate_series(1, 20) k",
+                stockId);
+        jdbcTemplate.update(
+                "INSERT INTO stock_comment_counts (stock_id, comment_count) VALUES (?, 20) " +
+                "ON CONFLICT (stock_id) DO UPDATE SET comment_count = EXCLUDED.comment_count",
+                stockId);
+    }
+
+    @Test
+    void stockByIdStaysWithinBudget() {
+        SqlStatementBudget.assertAtMost(1, "GET /stock/{id}", get("/stock/" + stockId));
+        SqlStatementBudget.assertAtMost(0, "GET /stock/{id} (cached)", get("/stock/" + stockId));
+    }
+
+    @Test
+    void portfolioStaysWithinBudget() {
+        SqlStatementBudget.assertAtMost(3, "GET /portfolio", get("/portfolio"));
+    }
+
+    @Test
+    void stockCommentsStayWithinBudget() {
+        SqlStatementBudget.assertAtMost(2, "GET /comment/stock/{id}", get("/comment/stock/" + stockId));
+    }
+
+    private String get(String path) {
+        Response response = given().auth().oauth2(token).get(path);
+        assertEquals(200, response.statusCode(), path);
+        return response.header(SqlStatementStatsFilter.SERVER_TIMING_HEADER);
+    }
+
+    private static EmbeddedPostgres start() {
+        try {
+            return EmbeddedPostgres.builder().start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.stockwatch.stockwatchpro.sqlstats;
+
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public final class SqlStatementBudget {
+    private static final Pattern SERVER_TIMING = Pattern.compile(
+            "(?:^|,)\\s*" + SqlStatementStatsFilter.SERVER_TIMING_METRIC + ";dur=([0-9.]+);desc=\"(\\d+) statements, (\\d+) max repeats\"");
+
+    private SqlStatementBudget() {
+    }
+
+    public static SqlStatementStats measure(Runnable work) {
+        SqlStatementStats stats = SqlStatementStats.start();
+        try {
+            work.run();
+        } finally {
+            SqlStatementStats.stop(stats);
+        }
+        return stats;
+    }
+
+    public static <T> T assertAtMost(int maxStatements, Supplier<T> work) {
+        SqlStatementStats stats = SqlStatementStats.start();
+        T result;
+        try {
+            result = work.get();
+        } finally {
+            SqlStatementStats.stop(stats);
+        }
+        check("block", maxStatements, stats.getStatements(), stats.getMostRepeatedSql());
+        return result;
+    }
+
+    public static void assertAtMost(int maxStatements, Runnable work) {
+        SqlStatementStats stats = measure(work);
+        check("block", maxStatements, stats.getStatements(), stats.getMostRepeatedSql());
+    }
+
+    public static void assertAtMost(int maxStatements, String endpoint, String serverTimingHeader) {
+        check(endpoint, maxStatements, statementCount(serverTimingHeader), null);
+    }
+
+    public static int statementCount(String serverTimingHeader) {
+        if (serverTimingHeader == null) {
+            throw new AssertionError("No " + SqlStatementStatsFilter.SERVER_TIMING_HEADER
+                    + " header; start the application with sql.stats.server-timing=true");
+        }
+        Matcher matcher = SERVER_TIMING.matcher(serverTimingHeader);
+        if (!matcher.find()) {
+            throw new AssertionError("No SQL metric in " + SqlStatementStatsFilter.SERVER_TIMING_HEADER + ": " + serverTimingHeader);
+        }
+        return Integer.parseInt(matcher.group(2));
+    }
+
+    private static void check(String scope, int maxStatements, int statements, String mostRepeatedSql) {
+        if (statements > maxStatements) {
+            throw new AssertionError(scope + " executed " + statements + " SQL statements, budget is " + maxStatements
+                    + (mostRepeatedSql != null ? "; most repeated: " + mostRepeatedSql : ""));
+        }
+    }
+}